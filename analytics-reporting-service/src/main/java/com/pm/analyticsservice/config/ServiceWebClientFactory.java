@@ -0,0 +1,109 @@
+package com.pm.analyticsservice.config;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.function.UnaryOperator;
+
+/**
+ * Builds the WebClients used to call other services. They share one Reactor Netty pool
+ * (sized per target host) with connect and response timeouts, and each target gets its own
+ * circuit breaker and bulkhead so one slow service cannot hold every connection. Pool,
+ * breaker and bulkhead metrics are published to Micrometer.
+ */
+@Component
+public class ServiceWebClientFactory implements DisposableBean {
+
+    private final WebClient.Builder webClientBuilder;
+    private final ConnectionProvider connectionProvider;
+    private final HttpClient httpClient;
+    private final CircuitBreakerRegistry circuitBreakers;
+    private final BulkheadRegistry bulkheads;
+
+    public ServiceWebClientFactory(WebClient.Builder webClientBuilder,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${webclient.pool.max-connections:100}") int maxConnections,
+                                   @Value("${webclient.pool.pending-acquire-max-count:500}") int pendingAcquireMaxCount,
+                                   @Value("${webclient.pool.pending-acquire-timeout:2s}") Duration pendingAcquireTimeout,
+                                   @Value("${webclient.pool.max-idle-time:30s}") Duration maxIdleTime,
+                                   @Value("${webclient.pool.evict-in-background:30s}") Duration evictInBackground,
+                                   @Value("${webclient.connect-timeout:2s}") Duration connectTimeout,
+                                   @Value("${webclient.response-timeout:5s}") Duration responseTimeout,
+                                   @Value("${webclient.circuit-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+                                   @Value("${webclient.circuit-breaker.slow-call-duration:2s}") Duration slowCallDuration,
+                                   @Value("${webclient.circuit-breaker.wait-in-open-state:10s}") Duration waitInOpenState,
+                                   @Value("${webclient.bulkhead.max-concurrent-calls:50}") int maxConcurrentCalls) {
+        this.webClientBuilder = webClientBuilder;
+        this.connectionProvider = ConnectionProvider.builder("service-clients")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .evictInBackground(evictInBackground)
+                .metrics(true)
+                .build();
+        this.httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(responseTimeout);
+        this.circuitBreakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallRateThreshold(failureRateThreshold)
+                .slowCallDurationThreshold(slowCallDuration)
+                .waitDurationInOpenState(waitInOpenState)
+                // 4xx responses (e.g. an unknown ID) are the caller's problem, not a failure
+                .recordException(e -> !(e instanceof WebClientResponseException response
+                        && response.getStatusCode().is4xxClientError()))
+                .build());
+        this.bulkheads = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakers).bindTo(meterRegistry);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheads).bindTo(meterRegistry);
+    }
+
+    /** A client for {@code baseUrl} on the shared pool, with its connect and response timeouts. */
+    public WebClient create(String baseUrl) {
+        return webClientBuilder.clone()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+
+    /**
+     * The bulkhead and circuit breaker for {@code target}. Apply to the whole call, body
+     * included, so the permit is held and the call timed until the body has been read.
+     */
+    public <T> UnaryOperator<Mono<T>> resilience(String target) {
+        Bulkhead bulkhead = bulkheads.bulkhead(target);
+        CircuitBreaker circuitBreaker = circuitBreakers.circuitBreaker(target);
+        return call -> call
+                .transformDeferred(BulkheadOperator.of(bulkhead))
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker));
+    }
+
+    @Override
+    public void destroy() {
+        connectionProvider.dispose();
+    }
+}
@@ -1,5 +1,6 @@
 package com.pm.analyticsservice.service;
 
+import com.pm.analyticsservice.config.ServiceWebClientFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -19,20 +20,23 @@ public class AnalyticsService {
 
     private static final Logger log = LoggerFactory.getLogger(AnalyticsService.class);
     
+    private final ServiceWebClientFactory webClientFactory;
     private final WebClient patientWebClient;
     private final WebClient billingWebClient;
     private final WebClient appointmentWebClient;
     private final WebClient notificationWebClient;
 
-    public AnalyticsService(@Value("${patient.service.url}") String patientServiceUrl,
+    public AnalyticsService(ServiceWebClientFactory webClientFactory,
+                           @Value("${patient.service.url}") String patientServiceUrl,
                            @Value("${billing.service.url}") String billingServiceUrl,
                            @Value("${appointment.service.url}") String appointmentServiceUrl,
                            @Value("${notification.service.url}") String notificationServiceUrl) {
         
-        this.patientWebClient = WebClient.builder().baseUrl(patientServiceUrl).build();
-        this.billingWebClient = WebClient.builder().baseUrl(billingServiceUrl).build();
-        this.appointmentWebClient = WebClient.builder().baseUrl(appointmentServiceUrl).build();
-        this.notificationWebClient = WebClient.builder().baseUrl(notificationServiceUrl).build();
+        this.webClientFactory = webClientFactory;
+        this.patientWebClient = webClientFactory.create(patientServiceUrl);
+        this.billingWebClient = webClientFactory.create(billingServiceUrl);
+        this.appointmentWebClient = webClientFactory.create(appointmentServiceUrl);
+        this.notificationWebClient = webClientFactory.create(notificationServiceUrl);
     }
 
     @Cacheable("dashboard-stats")
@@ -40,20 +44,24 @@ public class AnalyticsService {
         log.info("📊 Generating dashboard statistics from all services...");
         
         // Parallel calls to all services for real-time data aggregation
-        Mono<List> patientsMono = patientWebClient.get().uri("/patients")
+        Mono<List> patientsMono = patientWebClient.get().uri("/patients?unpaged=true")
                 .retrieve().bodyToMono(List.class)
+                .transformDeferred(webClientFactory.resilience("patient-service"))
                 .onErrorReturn(List.of());
                 
         Mono<List> billingMono = billingWebClient.get().uri("/billing-accounts")
                 .retrieve().bodyToMono(List.class)
+                .transformDeferred(webClientFactory.resilience("billing-service"))
                 .onErrorReturn(List.of());
                 
         Mono<List> appointmentsMono = appointmentWebClient.get().uri("/appointments")
                 .retrieve().bodyToMono(List.class)
+                .transformDeferred(webClientFactory.resilience("appointment-service"))
                 .onErrorReturn(List.of());
                 
         Mono<Map> notificationStatsMono = notificationWebClient.get().uri("/notifications/stats")
                 .retrieve().bodyToMono(Map.class)
+                .transformDeferred(webClientFactory.resilience("notification-service"))
                 .onErrorReturn(Map.of());
 
         return Mono.zip(patientsMono, billingMono, appointmentsMono, notificationStatsMono)
@@ -93,6 +101,7 @@ public class AnalyticsService {
         
         return billingWebClient.get().uri("/billing-accounts")
                 .retrieve().bodyToMono(List.class)
+                .transformDeferred(webClientFactory.resilience("billing-service"))
                 .map(billingAccounts -> {
                     Map<String, Object> report = new HashMap<>();
                     
@@ -120,6 +129,7 @@ public class AnalyticsService {
         
         return appointmentWebClient.get().uri("/appointments/stats")
                 .retrieve().bodyToMono(Map.class)
+                .transformDeferred(webClientFactory.resilience("appointment-service"))
                 .map(appointmentStats -> {
                     Map<String, Object> analytics = new HashMap<>();
                     
@@ -147,10 +157,10 @@ public class AnalyticsService {
         log.info("🏥 Generating system health report...");
         
         // Check health of all services
-        Mono<Boolean> patientHealthMono = checkServiceHealth(patientWebClient, "/patients");
-        Mono<Boolean> billingHealthMono = checkServiceHealth(billingWebClient, "/billing-accounts");
-        Mono<Boolean> appointmentHealthMono = checkServiceHealth(appointmentWebClient, "/appointments");
-        Mono<Boolean> notificationHealthMono = checkServiceHealth(notificationWebClient, "/notifications");
+        Mono<Boolean> patientHealthMono = checkServiceHealth(patientWebClient, "patient-service", "/patients?limit=1");
+        Mono<Boolean> billingHealthMono = checkServiceHealth(billingWebClient, "billing-service", "/billing-accounts");
+        Mono<Boolean> appointmentHealthMono = checkServiceHealth(appointmentWebClient, "appointment-service", "/appointments");
+        Mono<Boolean> notificationHealthMono = checkServiceHealth(notificationWebClient, "notification-service", "/notifications");
         
         return Mono.zip(patientHealthMono, billingHealthMono, appointmentHealthMono, notificationHealthMono)
                 .map(tuple -> {
@@ -176,9 +186,10 @@ public class AnalyticsService {
                 });
     }
 
-    private Mono<Boolean> checkServiceHealth(WebClient webClient, String endpoint) {
+    private Mono<Boolean> checkServiceHealth(WebClient webClient, String target, String endpoint) {
         return webClient.get().uri(endpoint)
                 .retrieve().bodyToMono(Object.class)
+                .transformDeferred(webClientFactory.resilience(target))
                 .map(response -> true)
                 .onErrorReturn(false);
     }
@@ -1,5 +1,8 @@
 package com.pm.apigateway.filter;
 
+import com.pm.apigateway.config.ServiceWebClientFactory;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
@@ -7,16 +10,20 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 
 @Component
 public class JwtValidationGatewayFilterFactory extends
     AbstractGatewayFilterFactory<Object> {
 
+  private final ServiceWebClientFactory webClientFactory;
   private final WebClient webClient;
 
-  public JwtValidationGatewayFilterFactory(WebClient.Builder webClientBuilder,
+  public JwtValidationGatewayFilterFactory(
+      ServiceWebClientFactory webClientFactory,
       @Value("${auth.service.url}") String authServiceUrl) {
-    this.webClient = webClientBuilder.baseUrl(authServiceUrl).build();
+    this.webClientFactory = webClientFactory;
+    this.webClient = webClientFactory.create(authServiceUrl);
   }
 
   @Override
@@ -35,7 +42,18 @@ public class JwtValidationGatewayFilterFactory extends
           .header(HttpHeaders.AUTHORIZATION, token)
           .retrieve()
           .toBodilessEntity()
-          .then(chain.filter(exchange));
+          .transformDeferred(webClientFactory.resilience("auth-service"))
+          .map(response -> true)
+          // Fail fast while auth-service is unhealthy instead of queueing
+          .onErrorResume(e -> e instanceof CallNotPermittedException
+              || e instanceof BulkheadFullException, e -> Mono.just(false))
+          .flatMap(authAvailable -> {
+            if (!authAvailable) {
+              exchange.getResponse().setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+              return exchange.getResponse().setComplete();
+            }
+            return chain.filter(exchange);
+          });
     };
   }
 }
@@ -1,5 +1,6 @@
 package com.pm.appointmentservice.client;
 
+import com.pm.appointmentservice.config.ServiceWebClientFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -7,6 +8,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -14,24 +17,58 @@ public class DoctorServiceClient {
 
     private static final Logger log = LoggerFactory.getLogger(DoctorServiceClient.class);
     
+    private static final String TARGET = "doctor-service";
+
+    private final ServiceWebClientFactory webClientFactory;
     private final WebClient webClient;
+    private final LookupCache doctorCache;
 
-    public DoctorServiceClient(@Value("${doctor.service.url}") String doctorServiceUrl) {
-        this.webClient = WebClient.builder()
-                .baseUrl(doctorServiceUrl)
-                .build();
+    public DoctorServiceClient(ServiceWebClientFactory webClientFactory,
+                               @Value("${doctor.service.url}") String doctorServiceUrl,
+                               @Value("${doctor.service.cache.max-size:10000}") long cacheMaxSize,
+                               @Value("${doctor.service.cache.ttl:5m}") Duration cacheTtl) {
+        this.webClientFactory = webClientFactory;
+        this.webClient = webClientFactory.create(doctorServiceUrl);
+        this.doctorCache = new LookupCache(cacheMaxSize, cacheTtl);
     }
 
-@SuppressWarnings("unchecked")
     public Mono<Map<String, Object>> getDoctorById(String doctorId) {
+        // The demo fallback is applied outside the cache so it is never cached
+        return doctorCache.get(doctorId, this::fetchDoctor)
+                .onErrorReturn(createDemoDoctor(doctorId)); // Fallback for demo
+    }
+
+    /** Drops a cached doctor, e.g. after doctor-service reports a change. */
+    public void evictDoctor(String doctorId) {
+        doctorCache.invalidate(doctorId);
+    }
+
+@SuppressWarnings("unchecked")
+    private Mono<Map<String, Object>> fetchDoctor(String doctorId) {
         return webClient.get()
                 .uri("/doctors/{id}", doctorId)
                 .retrieve()
                 .bodyToMono(Map.class)
+                .transformDeferred(webClientFactory.resilience(TARGET))
                 .map(map -> (Map<String, Object>) map)
                 .doOnSuccess(doctor -> log.info("✅ Retrieved doctor: {}", doctor.get("name")))
-                .doOnError(error -> log.error("❌ Failed to retrieve doctor {}: {}", doctorId, error.getMessage()))
-                .onErrorReturn(createDemoDoctor(doctorId)); // Fallback for demo
+                .doOnError(error -> log.error("❌ Failed to retrieve doctor {}: {}", doctorId, error.getMessage()));
+    }
+
+    /** Id and name of every doctor with the given specialization, via doctor-service's sparse fieldsets. */
+    @SuppressWarnings("unchecked")
+    public Mono<List<Map<String, Object>>> getDoctorsBySpecialization(String specialization) {
+        return webClient.get()
+                .uri(uri -> uri.path("/doctors/specialization/{specialization}")
+                        .queryParam("fields", "id,name")
+                        .build(specialization))
+                .retrieve()
+                .bodyToFlux(Map.class)
+                .map(map -> (Map<String, Object>) map)
+                .collectList()
+                .transformDeferred(webClientFactory.resilience(TARGET))
+                .doOnSuccess(doctors -> log.info("✅ Retrieved {} doctors for {}", doctors.size(), specialization))
+                .doOnError(error -> log.error("❌ Failed to retrieve {} doctors: {}", specialization, error.getMessage()));
     }
 
     public Mono<Boolean> validateDoctorExists(String doctorId) {
@@ -0,0 +1,34 @@
+package com.pm.appointmentservice.client;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Bounded TTL cache for remote lookups by ID. Concurrent misses for one ID share a single
+ * upstream call; failed calls are not cached, so the next caller retries.
+ */
+final class LookupCache {
+
+    private final AsyncCache<String, Map<String, Object>> cache;
+
+    LookupCache(long maxSize, Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .buildAsync();
+    }
+
+    Mono<Map<String, Object>> get(String id, Function<String, Mono<Map<String, Object>>> loader) {
+        // suppressCancel: the future is shared by every caller waiting on this ID
+        return Mono.fromFuture(() -> cache.get(id, (key, executor) -> loader.apply(key).toFuture()), true);
+    }
+
+    void invalidate(String id) {
+        cache.synchronous().invalidate(id);
+    }
+}
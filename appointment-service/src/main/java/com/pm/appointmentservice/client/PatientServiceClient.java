@@ -1,5 +1,6 @@
 package com.pm.appointmentservice.client;
 
+import com.pm.appointmentservice.config.ServiceWebClientFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -7,6 +8,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.util.Map;
 
 @Service
@@ -14,20 +16,37 @@ public class PatientServiceClient {
 
     private static final Logger log = LoggerFactory.getLogger(PatientServiceClient.class);
     
+    private static final String TARGET = "patient-service";
+
+    private final ServiceWebClientFactory webClientFactory;
     private final WebClient webClient;
+    private final LookupCache patientCache;
 
-    public PatientServiceClient(@Value("${patient.service.url}") String patientServiceUrl) {
-        this.webClient = WebClient.builder()
-                .baseUrl(patientServiceUrl)
-                .build();
+    public PatientServiceClient(ServiceWebClientFactory webClientFactory,
+                                @Value("${patient.service.url}") String patientServiceUrl,
+                                @Value("${patient.service.cache.max-size:10000}") long cacheMaxSize,
+                                @Value("${patient.service.cache.ttl:5m}") Duration cacheTtl) {
+        this.webClientFactory = webClientFactory;
+        this.webClient = webClientFactory.create(patientServiceUrl);
+        this.patientCache = new LookupCache(cacheMaxSize, cacheTtl);
     }
 
-@SuppressWarnings("unchecked")
     public Mono<Map<String, Object>> getPatientById(String patientId) {
+        return patientCache.get(patientId, this::fetchPatient);
+    }
+
+    /** Drops a cached patient, e.g. after patient-service reports a change. */
+    public void evictPatient(String patientId) {
+        patientCache.invalidate(patientId);
+    }
+
+@SuppressWarnings("unchecked")
+    private Mono<Map<String, Object>> fetchPatient(String patientId) {
         return webClient.get()
                 .uri("/patients/{id}", patientId)
                 .retrieve()
                 .bodyToMono(Map.class)
+                .transformDeferred(webClientFactory.resilience(TARGET))
                 .map(map -> (Map<String, Object>) map)
                 .doOnSuccess(patient -> log.info("✅ Retrieved patient: {}", patient.get("name")))
                 .doOnError(error -> log.error("❌ Failed to retrieve patient {}: {}", patientId, error.getMessage()));
@@ -0,0 +1,67 @@
+package com.pm.appointmentservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import java.time.Duration;
+import javax.sql.DataSource;
+
+/**
+ * Active only when {@code datasource.replica.url} is set; otherwise Spring
+ * Boot's single DataSource is used unchanged.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replica.url")
+public class ReadReplicaDataSourceConfig {
+
+    static final String POSTGRES_LAG_QUERY = "SELECT CASE"
+            + " WHEN pg_is_in_recovery()"
+            + " AND pg_last_wal_receive_lsn() IS DISTINCT FROM pg_last_wal_replay_lsn()"
+            + " THEN COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)"
+            + " ELSE 0 END";
+
+    @Bean(destroyMethod = "")
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class).build();
+    }
+
+    @Bean(destroyMethod = "")
+    @ConfigurationProperties("datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+            @Value("${datasource.replica.url}") String url,
+            @Value("${datasource.replica.username:}") String username,
+            @Value("${datasource.replica.password:}") String password) {
+        return DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username.isEmpty() ? properties.determineUsername() : username)
+                .password(password.isEmpty() ? properties.determinePassword() : password)
+                .build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            HikariDataSource primaryDataSource, HikariDataSource replicaDataSource,
+            @Value("${datasource.replica.lag-query:" + POSTGRES_LAG_QUERY + "}") String lagQuery,
+            @Value("${datasource.replica.max-lag:5s}") Duration maxLag,
+            @Value("${datasource.replica.lag-check-interval:2s}") Duration checkInterval) {
+        return new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource,
+                lagQuery, maxLag, checkInterval);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
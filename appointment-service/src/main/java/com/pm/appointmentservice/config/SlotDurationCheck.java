@@ -0,0 +1,53 @@
+package com.pm.appointmentservice.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Fails startup when the appointments_no_overlap constraint (data.sql) spans a different
+ * interval than {@code appointment.slot-duration}. The in-memory schedule and the
+ * constraint would otherwise disagree on what overlaps, and bookings the index accepts
+ * could be rejected by the database, or the other way round.
+ */
+@Component
+public class SlotDurationCheck {
+
+    private static final Logger log = LoggerFactory.getLogger(SlotDurationCheck.class);
+
+    // Postgres prints the constraint's interval as e.g. '00:30:00'::interval; render the
+    // configured duration the same way and look for it
+    private static final String CONSTRAINT_MATCHES = """
+            SELECT position(quote_literal(make_interval(secs => ?)::text) || '::interval'
+                            IN pg_get_constraintdef(oid)) > 0
+            FROM pg_constraint
+            WHERE conname = 'appointments_no_overlap'""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration slotDuration;
+
+    public SlotDurationCheck(JdbcTemplate jdbcTemplate,
+                             @Value("${appointment.slot-duration:30m}") Duration slotDuration) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.slotDuration = slotDuration;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void verify() {
+        List<Boolean> matches = jdbcTemplate.queryForList(CONSTRAINT_MATCHES, Boolean.class,
+                (double) slotDuration.toSeconds());
+        if (matches.isEmpty()) {
+            log.warn("appointments_no_overlap is missing; overlapping bookings from other instances are not rejected");
+        } else if (!matches.get(0)) {
+            throw new IllegalStateException("appointments_no_overlap does not match appointment.slot-duration="
+                    + slotDuration + "; update the interval in data.sql and re-create the constraint");
+        }
+    }
+}
@@ -1,16 +1,22 @@
 package com.pm.appointmentservice.controller;
 
 import com.pm.appointmentservice.dto.AppointmentRequestDTO;
+import com.pm.appointmentservice.dto.DoctorFreeSlotsDTO;
 import com.pm.appointmentservice.model.Appointment;
 import com.pm.appointmentservice.service.AppointmentService;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.UUID;
 
 @RestController
@@ -32,43 +38,62 @@ public class AppointmentController {
     }
 
     @GetMapping
-    public ResponseEntity<List<Appointment>> getAllAppointments() {
-        List<Appointment> appointments = appointmentService.getAllAppointments();
-        return ResponseEntity.ok(appointments);
+    public Mono<ResponseEntity<List<Appointment>>> getAllAppointments() {
+        return appointmentService.getAllAppointments()
+                .collectList()
+                .map(ResponseEntity::ok);
     }
 
     @GetMapping("/patient/{patientId}")
-    public ResponseEntity<List<Appointment>> getAppointmentsByPatient(@PathVariable String patientId) {
-        List<Appointment> appointments = appointmentService.getAppointmentsByPatient(patientId);
-        return ResponseEntity.ok(appointments);
+    public Mono<ResponseEntity<List<Appointment>>> getAppointmentsByPatient(@PathVariable String patientId) {
+        return appointmentService.getAppointmentsByPatient(patientId)
+                .collectList()
+                .map(ResponseEntity::ok);
     }
 
     @GetMapping("/doctor/{doctorId}")
-    public ResponseEntity<List<Appointment>> getAppointmentsByDoctor(@PathVariable String doctorId) {
-        List<Appointment> appointments = appointmentService.getAppointmentsByDoctor(doctorId);
-        return ResponseEntity.ok(appointments);
+    public Mono<ResponseEntity<List<Appointment>>> getAppointmentsByDoctor(@PathVariable String doctorId) {
+        return appointmentService.getAppointmentsByDoctor(doctorId)
+                .collectList()
+                .map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/free-slots")
+    public Mono<ResponseEntity<List<DoctorFreeSlotsDTO>>> getFreeSlots(
+            @RequestParam(required = false) String doctorId,
+            @RequestParam(required = false) String specialization,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Duration duration) {
+
+        return appointmentService.findFreeSlots(doctorId, specialization, from, to, duration)
+                .collectList()
+                .map(ResponseEntity::ok)
+                .onErrorReturn(IllegalArgumentException.class, ResponseEntity.badRequest().build());
     }
 
     @PutMapping("/{id}/status")
-    public ResponseEntity<Appointment> updateAppointmentStatus(
+    public Mono<ResponseEntity<Appointment>> updateAppointmentStatus(
             @PathVariable UUID id,
             @RequestParam Appointment.AppointmentStatus status) {
         
-        try {
-            Appointment updatedAppointment = appointmentService.updateAppointmentStatus(id, status);
-            return ResponseEntity.ok(updatedAppointment);
-        } catch (RuntimeException e) {
-            return ResponseEntity.notFound().build();
-        }
+        return appointmentService.updateAppointmentStatus(id, status)
+                .map(ResponseEntity::ok)
+                .onErrorReturn(NoSuchElementException.class, ResponseEntity.notFound().build())
+                // Un-cancelling into a slot that has since been booked
+                .onErrorReturn(IllegalStateException.class, ResponseEntity.status(HttpStatus.CONFLICT).build());
     }
 
     @GetMapping("/stats")
-    public ResponseEntity<Map<String, Object>> getAppointmentStats() {
-        Map<String, Object> stats = new HashMap<>();
-        stats.put("totalAppointments", appointmentService.getAppointmentStats("total"));
-        stats.put("scheduledAppointments", appointmentService.getAppointmentStats("scheduled"));
-        stats.put("completedAppointments", appointmentService.getAppointmentStats("completed"));
-        stats.put("cancelledAppointments", appointmentService.getAppointmentStats("cancelled"));
-        return ResponseEntity.ok(stats);
+    public Mono<ResponseEntity<Map<String, Object>>> getAppointmentStats() {
+        return appointmentService.getAppointmentCountsByStatus()
+                .map(counts -> {
+                    Map<String, Object> stats = new HashMap<>();
+                    stats.put("totalAppointments", counts.values().stream().mapToLong(Long::longValue).sum());
+                    stats.put("scheduledAppointments", counts.get(Appointment.AppointmentStatus.SCHEDULED));
+                    stats.put("completedAppointments", counts.get(Appointment.AppointmentStatus.COMPLETED));
+                    stats.put("cancelledAppointments", counts.get(Appointment.AppointmentStatus.CANCELLED));
+                    return ResponseEntity.ok(stats);
+                });
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,50 @@
+package com.pm.appointmentservice.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class DoctorFreeSlotsDTO {
+
+    private String doctorId;
+    private String doctorName;
+    private List<Window> windows;
+
+    // Constructors
+    public DoctorFreeSlotsDTO() {}
+
+    public DoctorFreeSlotsDTO(String doctorId, String doctorName, List<Window> windows) {
+        this.doctorId = doctorId;
+        this.doctorName = doctorName;
+        this.windows = windows;
+    }
+
+    // Getters and Setters
+    public String getDoctorId() { return doctorId; }
+    public void setDoctorId(String doctorId) { this.doctorId = doctorId; }
+
+    public String getDoctorName() { return doctorName; }
+    public void setDoctorName(String doctorName) { this.doctorName = doctorName; }
+
+    public List<Window> getWindows() { return windows; }
+    public void setWindows(List<Window> windows) { this.windows = windows; }
+
+    /** An open stretch [start, end); any appointment starting at or before end minus its length fits. */
+    public static class Window {
+
+        private LocalDateTime start;
+        private LocalDateTime end;
+
+        public Window() {}
+
+        public Window(LocalDateTime start, LocalDateTime end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        public LocalDateTime getStart() { return start; }
+        public void setStart(LocalDateTime start) { this.start = start; }
+
+        public LocalDateTime getEnd() { return end; }
+        public void setEnd(LocalDateTime end) { this.end = end; }
+    }
+}
@@ -0,0 +1,54 @@
+package com.pm.appointmentservice.kafka;
+
+import com.pm.appointmentservice.client.DoctorServiceClient;
+import com.pm.appointmentservice.client.PatientServiceClient;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Evicts cached patients and doctors when their services report a change. Every instance
+ * holds its own cache, so each one consumes in its own group, named after
+ * {@code appointment.cache.instance-id}. The ID is stable across restarts, so a restarted
+ * instance rejoins its group instead of leaving another one behind. The cache TTL covers
+ * anything missed while it was down.
+ */
+@Component
+public class LookupCacheInvalidationListener {
+
+    private static final Logger log = LoggerFactory.getLogger(LookupCacheInvalidationListener.class);
+    private static final String GROUP_ID = "appointment-service-cache-${appointment.cache.instance-id}";
+
+    private final PatientServiceClient patientServiceClient;
+    private final DoctorServiceClient doctorServiceClient;
+
+    public LookupCacheInvalidationListener(PatientServiceClient patientServiceClient,
+                                           DoctorServiceClient doctorServiceClient) {
+        this.patientServiceClient = patientServiceClient;
+        this.doctorServiceClient = doctorServiceClient;
+    }
+
+    // Patient events are protobuf, keyed by patient ID; the key is all that is needed here
+    @KafkaListener(topics = "patient", groupId = GROUP_ID,
+            properties = {"auto.offset.reset=latest",
+                    "value.deserializer=org.apache.kafka.common.serialization.ByteArrayDeserializer"})
+    public void onPatientEvent(ConsumerRecord<String, byte[]> record) {
+        if (record.key() != null) {
+            patientServiceClient.evictPatient(record.key());
+            log.debug("Evicted cached patient {}", record.key());
+        }
+    }
+
+    // Doctor events are plain text such as "Doctor updated: <id>"
+    @KafkaListener(topics = "doctor-events", groupId = GROUP_ID, properties = "auto.offset.reset=latest")
+    public void onDoctorEvent(String message) {
+        int separator = message.lastIndexOf(": ");
+        if (separator >= 0) {
+            String doctorId = message.substring(separator + 2).trim();
+            doctorServiceClient.evictDoctor(doctorId);
+            log.debug("Evicted cached doctor {}", doctorId);
+        }
+    }
+}
@@ -4,12 +4,16 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
+// Mapped for both JPA and R2DBC (appointment.persistence.mode); R2DBC derives the
+// same snake_case column names as Hibernate, and stores enums by name
 @Entity
 @Table(name = "appointments")
+@org.springframework.data.relational.core.mapping.Table("appointments")
 public class Appointment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @org.springframework.data.annotation.Id
+    @UuidV7
     private UUID id;
 
     @Column(nullable = false)
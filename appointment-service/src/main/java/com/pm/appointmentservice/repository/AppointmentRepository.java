@@ -19,8 +19,15 @@ public interface AppointmentRepository extends JpaRepository<Appointment, UUID>
     @Query("SELECT a FROM Appointment a WHERE a.doctorId = ?1 AND a.appointmentDateTime BETWEEN ?2 AND ?3 AND a.status != 'CANCELLED'")
     List<Appointment> findDoctorAppointmentsInTimeRange(String doctorId, LocalDateTime start, LocalDateTime end);
     
+    @Query("SELECT a FROM Appointment a WHERE a.doctorId = ?1 AND a.appointmentDateTime >= ?2 AND a.status != 'CANCELLED'")
+    List<Appointment> findUpcomingForDoctor(String doctorId, LocalDateTime from);
+    
     long countByStatus(Appointment.AppointmentStatus status);
     
+    // Rows without a status are left out, as in R2dbcAppointmentStore.countByStatus
+    @Query("SELECT a.status, COUNT(a) FROM Appointment a WHERE a.status IS NOT NULL GROUP BY a.status")
+    List<Object[]> countGroupedByStatus();
+    
     @Query("SELECT COUNT(a) FROM Appointment a WHERE a.appointmentDateTime >= ?1 AND a.appointmentDateTime < ?2")
     long countAppointmentsForDate(LocalDateTime startOfDay, LocalDateTime endOfDay);
 }
\ No newline at end of file
@@ -0,0 +1,37 @@
+package com.pm.appointmentservice.repository;
+
+import com.pm.appointmentservice.model.Appointment;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Non-blocking access to appointments. {@code appointment.persistence.mode} picks the
+ * implementation: {@code r2dbc} (default) or {@code jpa}, which runs the blocking
+ * repository on {@code Schedulers.boundedElastic()}.
+ */
+public interface AppointmentStore {
+
+    Mono<Appointment> insert(Appointment appointment);
+
+    Mono<Appointment> update(Appointment appointment);
+
+    Mono<Appointment> findById(UUID id);
+
+    Flux<Appointment> findAll();
+
+    Flux<Appointment> findByPatientId(String patientId);
+
+    Flux<Appointment> findByDoctorId(String doctorId);
+
+    Flux<Appointment> findDoctorAppointmentsInTimeRange(String doctorId, LocalDateTime start, LocalDateTime end);
+
+    /** Non-cancelled appointments of a doctor starting at or after {@code from}. */
+    Flux<Appointment> findUpcomingForDoctor(String doctorId, LocalDateTime from);
+
+    /** Appointment count per status in one GROUP BY; statuses with no rows are absent. */
+    Mono<Map<Appointment.AppointmentStatus, Long>> countByStatus();
+}
@@ -0,0 +1,103 @@
+package com.pm.appointmentservice.repository;
+
+import com.pm.appointmentservice.config.ReplicaRoutingDataSource;
+import com.pm.appointmentservice.model.Appointment;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+
+/**
+ * Fallback for {@code appointment.persistence.mode=jpa}. Every repository call runs on
+ * {@code Schedulers.boundedElastic()} so it never blocks the WebClient/Reactor threads
+ * the calling chain is on. Reads run in read-only transactions so they can use the
+ * read replica.
+ */
+@Component
+@ConditionalOnProperty(name = "appointment.persistence.mode", havingValue = "jpa")
+public class JpaAppointmentStore implements AppointmentStore {
+
+    private final AppointmentRepository appointmentRepository;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    public JpaAppointmentStore(AppointmentRepository appointmentRepository,
+                               PlatformTransactionManager transactionManager) {
+        this.appointmentRepository = appointmentRepository;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+    }
+
+    @Override
+    public Mono<Appointment> insert(Appointment appointment) {
+        return blocking(() -> appointmentRepository.save(appointment));
+    }
+
+    @Override
+    public Mono<Appointment> update(Appointment appointment) {
+        return blocking(() -> appointmentRepository.save(appointment));
+    }
+
+    @Override
+    public Mono<Appointment> findById(UUID id) {
+        // Only status updates look appointments up by id, and they re-read under the
+        // doctor booking lock, so this reads the primary. A null result completes the
+        // Mono empty.
+        return blocking(() -> ReplicaRoutingDataSource.onPrimary(() -> readOnlyTransactionTemplate.execute(
+                status -> appointmentRepository.findById(id).orElse(null))));
+    }
+
+    @Override
+    public Flux<Appointment> findAll() {
+        return blockingMany(() -> readOnlyTransactionTemplate.execute(
+                status -> appointmentRepository.findAll()));
+    }
+
+    @Override
+    public Flux<Appointment> findByPatientId(String patientId) {
+        return blockingMany(() -> readOnlyTransactionTemplate.execute(
+                status -> appointmentRepository.findByPatientIdOrderByAppointmentDateTimeDesc(patientId)));
+    }
+
+    @Override
+    public Flux<Appointment> findByDoctorId(String doctorId) {
+        return blockingMany(() -> readOnlyTransactionTemplate.execute(
+                status -> appointmentRepository.findByDoctorIdOrderByAppointmentDateTimeDesc(doctorId)));
+    }
+
+    @Override
+    public Flux<Appointment> findDoctorAppointmentsInTimeRange(String doctorId, LocalDateTime start,
+                                                               LocalDateTime end) {
+        // Availability checks read the primary: a lagging replica could miss a fresh booking
+        return blockingMany(() -> appointmentRepository.findDoctorAppointmentsInTimeRange(doctorId, start, end));
+    }
+
+    @Override
+    public Flux<Appointment> findUpcomingForDoctor(String doctorId, LocalDateTime from) {
+        // Schedule index loads read the primary for the same reason
+        return blockingMany(() -> appointmentRepository.findUpcomingForDoctor(doctorId, from));
+    }
+
+    @Override
+    public Mono<Map<Appointment.AppointmentStatus, Long>> countByStatus() {
+        return blockingMany(() -> readOnlyTransactionTemplate.execute(
+                status -> appointmentRepository.countGroupedByStatus()))
+                .collectMap(row -> (Appointment.AppointmentStatus) row[0], row -> (Long) row[1]);
+    }
+
+    private static <T> Mono<T> blocking(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private static <T> Flux<T> blockingMany(Callable<List<T>> call) {
+        return blocking(call).flatMapIterable(list -> list);
+    }
+}
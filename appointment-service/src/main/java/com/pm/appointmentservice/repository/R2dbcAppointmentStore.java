@@ -0,0 +1,84 @@
+package com.pm.appointmentservice.repository;
+
+import com.pm.appointmentservice.model.Appointment;
+import com.pm.appointmentservice.model.UuidV7Generator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+@Component
+@ConditionalOnProperty(name = "appointment.persistence.mode", havingValue = "r2dbc", matchIfMissing = true)
+public class R2dbcAppointmentStore implements AppointmentStore {
+
+    private final ReactiveAppointmentRepository reactiveAppointmentRepository;
+    private final R2dbcEntityTemplate r2dbcEntityTemplate;
+
+    public R2dbcAppointmentStore(ReactiveAppointmentRepository reactiveAppointmentRepository,
+                                 R2dbcEntityTemplate r2dbcEntityTemplate) {
+        this.reactiveAppointmentRepository = reactiveAppointmentRepository;
+        this.r2dbcEntityTemplate = r2dbcEntityTemplate;
+    }
+
+    @Override
+    public Mono<Appointment> insert(Appointment appointment) {
+        // save() treats a set ID as an update, and the Hibernate generator does not run here
+        if (appointment.getId() == null) {
+            appointment.setId(UuidV7Generator.nextUuid());
+        }
+        return r2dbcEntityTemplate.insert(appointment);
+    }
+
+    @Override
+    public Mono<Appointment> update(Appointment appointment) {
+        return r2dbcEntityTemplate.update(appointment);
+    }
+
+    @Override
+    public Mono<Appointment> findById(UUID id) {
+        return reactiveAppointmentRepository.findById(id);
+    }
+
+    @Override
+    public Flux<Appointment> findAll() {
+        return reactiveAppointmentRepository.findAll();
+    }
+
+    @Override
+    public Flux<Appointment> findByPatientId(String patientId) {
+        return reactiveAppointmentRepository.findByPatientIdOrderByAppointmentDateTimeDesc(patientId);
+    }
+
+    @Override
+    public Flux<Appointment> findByDoctorId(String doctorId) {
+        return reactiveAppointmentRepository.findByDoctorIdOrderByAppointmentDateTimeDesc(doctorId);
+    }
+
+    @Override
+    public Flux<Appointment> findDoctorAppointmentsInTimeRange(String doctorId, LocalDateTime start,
+                                                               LocalDateTime end) {
+        return reactiveAppointmentRepository.findDoctorAppointmentsInTimeRange(doctorId, start, end);
+    }
+
+    @Override
+    public Flux<Appointment> findUpcomingForDoctor(String doctorId, LocalDateTime from) {
+        return reactiveAppointmentRepository.findUpcomingForDoctor(doctorId, from);
+    }
+
+    @Override
+    public Mono<Map<Appointment.AppointmentStatus, Long>> countByStatus() {
+        return r2dbcEntityTemplate.getDatabaseClient()
+                // A NULL status would form its own group, which has no enum constant
+                .sql("SELECT status, COUNT(*) AS total FROM appointments WHERE status IS NOT NULL GROUP BY status")
+                .map((row, metadata) -> Map.entry(
+                        Appointment.AppointmentStatus.valueOf(row.get("status", String.class)),
+                        row.get("total", Long.class)))
+                .all()
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+}
@@ -0,0 +1,25 @@
+package com.pm.appointmentservice.repository;
+
+import com.pm.appointmentservice.model.Appointment;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Repository
+public interface ReactiveAppointmentRepository extends R2dbcRepository<Appointment, UUID> {
+
+    Flux<Appointment> findByPatientIdOrderByAppointmentDateTimeDesc(String patientId);
+    Flux<Appointment> findByDoctorIdOrderByAppointmentDateTimeDesc(String doctorId);
+
+    @Query("SELECT * FROM appointments WHERE doctor_id = :doctorId"
+            + " AND appointment_date_time BETWEEN :start AND :end AND status <> 'CANCELLED'")
+    Flux<Appointment> findDoctorAppointmentsInTimeRange(String doctorId, LocalDateTime start, LocalDateTime end);
+
+    @Query("SELECT * FROM appointments WHERE doctor_id = :doctorId"
+            + " AND appointment_date_time >= :from AND status <> 'CANCELLED'")
+    Flux<Appointment> findUpcomingForDoctor(String doctorId, LocalDateTime from);
+}
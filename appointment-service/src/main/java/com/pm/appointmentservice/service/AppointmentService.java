@@ -3,37 +3,69 @@ package com.pm.appointmentservice.service;
 import com.pm.appointmentservice.client.DoctorServiceClient;
 import com.pm.appointmentservice.client.PatientServiceClient;
 import com.pm.appointmentservice.dto.AppointmentRequestDTO;
+import com.pm.appointmentservice.dto.DoctorFreeSlotsDTO;
 import com.pm.appointmentservice.kafka.AppointmentEventPublisher;
 import com.pm.appointmentservice.model.Appointment;
-import com.pm.appointmentservice.repository.AppointmentRepository;
+import com.pm.appointmentservice.repository.AppointmentStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.UUID;
 
 @Service
 public class AppointmentService {
 
     private static final Logger log = LoggerFactory.getLogger(AppointmentService.class);
+    private static final String SLOT_TAKEN = "Doctor is not available at the requested time";
     
-    private final AppointmentRepository appointmentRepository;
+    private final AppointmentStore appointmentStore;
     private final PatientServiceClient patientServiceClient;
     private final DoctorServiceClient doctorServiceClient;
     private final AppointmentEventPublisher eventPublisher;
+    private final DoctorScheduleIndex doctorScheduleIndex;
+    private final DoctorBookingLocks doctorBookingLocks;
+    private final AppointmentStatusCounters appointmentStatusCounters;
+    private final LocalTime workingDayStart;
+    private final LocalTime workingDayEnd;
+    private final Duration freeSlotsMaxRange;
+    private final int freeSlotsConcurrency;
 
-    public AppointmentService(AppointmentRepository appointmentRepository,
+    public AppointmentService(AppointmentStore appointmentStore,
                              PatientServiceClient patientServiceClient,
                              DoctorServiceClient doctorServiceClient,
-                             AppointmentEventPublisher eventPublisher) {
-        this.appointmentRepository = appointmentRepository;
+                             AppointmentEventPublisher eventPublisher,
+                             DoctorScheduleIndex doctorScheduleIndex,
+                             DoctorBookingLocks doctorBookingLocks,
+                             AppointmentStatusCounters appointmentStatusCounters,
+                             @Value("${appointment.working-hours.start:09:00}") LocalTime workingDayStart,
+                             @Value("${appointment.working-hours.end:17:00}") LocalTime workingDayEnd,
+                             @Value("${appointment.free-slots.max-range:31d}") Duration freeSlotsMaxRange,
+                             @Value("${appointment.free-slots.concurrency:16}") int freeSlotsConcurrency) {
+        if (!workingDayEnd.isAfter(workingDayStart)) {
+            throw new IllegalStateException("appointment.working-hours.end must be after start");
+        }
+        this.appointmentStore = appointmentStore;
         this.patientServiceClient = patientServiceClient;
         this.doctorServiceClient = doctorServiceClient;
         this.eventPublisher = eventPublisher;
+        this.doctorScheduleIndex = doctorScheduleIndex;
+        this.doctorBookingLocks = doctorBookingLocks;
+        this.appointmentStatusCounters = appointmentStatusCounters;
+        this.workingDayStart = workingDayStart;
+        this.workingDayEnd = workingDayEnd;
+        this.freeSlotsMaxRange = freeSlotsMaxRange;
+        this.freeSlotsConcurrency = freeSlotsConcurrency;
     }
 
     public Mono<Appointment> createAppointment(AppointmentRequestDTO request) {
@@ -48,34 +80,38 @@ public class AppointmentService {
                     Map<String, Object> patient = tuple.getT1();
                     Map<String, Object> doctor = tuple.getT2();
                     
-                    // Check doctor availability
-                    return checkDoctorAvailability(request.getDoctorId(), request.getAppointmentDateTime())
-                            .flatMap(isAvailable -> {
-                                if (!isAvailable) {
-                                    return Mono.error(new RuntimeException("Doctor is not available at the requested time"));
-                                }
-                                
-                                // Create appointment
-                                Appointment appointment = new Appointment(
-                                    request.getPatientId(),
-                                    (String) patient.get("name"),
-                                    (String) patient.get("email"),
-                                    request.getDoctorId(),
-                                    (String) doctor.get("name"),
-                                    request.getAppointmentDateTime(),
-                                    request.getType(),
-                                    request.getNotes()
-                                );
-                                
-                                // Save appointment
-                                Appointment savedAppointment = appointmentRepository.save(appointment);
-                                
-                                // Publish event for notification service
-                                eventPublisher.publishAppointmentCreatedEvent(savedAppointment);
-                                
-                                log.info("✅ Appointment created successfully: {}", savedAppointment.getId());
-                                return Mono.just(savedAppointment);
-                            });
+                    // Check and insert under the doctor's lock so concurrent bookings in this
+                    // instance cannot both pass the check; remote calls stay outside it
+                    return doctorBookingLocks.withLock(request.getDoctorId(),
+                            () -> checkDoctorAvailability(request.getDoctorId(), request.getAppointmentDateTime())
+                                    .flatMap(isAvailable -> {
+                                        if (!isAvailable) {
+                                            return Mono.error(new RuntimeException(SLOT_TAKEN));
+                                        }
+
+                                        // Create appointment
+                                        Appointment appointment = new Appointment(
+                                            request.getPatientId(),
+                                            (String) patient.get("name"),
+                                            (String) patient.get("email"),
+                                            request.getDoctorId(),
+                                            (String) doctor.get("name"),
+                                            request.getAppointmentDateTime(),
+                                            request.getType(),
+                                            request.getNotes()
+                                        );
+
+                                        return insertAppointment(appointment);
+                                    })
+                                    .doOnNext(doctorScheduleIndex::onSaved));
+                })
+                .doOnNext(savedAppointment -> {
+                    appointmentStatusCounters.onCreated(savedAppointment.getStatus());
+
+                    // Publish event for notification service
+                    eventPublisher.publishAppointmentCreatedEvent(savedAppointment);
+
+                    log.info("✅ Appointment created successfully: {}", savedAppointment.getId());
                 })
                 .onErrorMap(throwable -> {
                     log.error("❌ Failed to create appointment: {}", throwable.getMessage());
@@ -83,53 +119,98 @@ public class AppointmentService {
                 });
     }
 
+    /**
+     * Another instance can still book the same slot in between; the appointments_no_overlap
+     * exclusion constraint rejects the second insert.
+     */
+    private Mono<Appointment> insertAppointment(Appointment appointment) {
+        return appointmentStore.insert(appointment)
+                .onErrorMap(DataIntegrityViolationException.class, e -> new RuntimeException(SLOT_TAKEN, e));
+    }
+
     private Mono<Boolean> checkDoctorAvailability(String doctorId, LocalDateTime appointmentTime) {
-        // Check if doctor has conflicting appointments (±30 minutes)
-        LocalDateTime start = appointmentTime.minusMinutes(30);
-        LocalDateTime end = appointmentTime.plusMinutes(30);
-        
-        List<Appointment> conflictingAppointments = appointmentRepository
-                .findDoctorAppointmentsInTimeRange(doctorId, start, end);
-        
-        boolean isAvailable = conflictingAppointments.isEmpty();
-        log.info("🔍 Doctor {} availability check: {}", doctorId, isAvailable ? "Available" : "Busy");
-        
-        return Mono.just(isAvailable);
+        // Conflicts with any booked slot starting less than one slot duration away
+        return doctorScheduleIndex.isAvailable(doctorId, appointmentTime)
+                .doOnNext(isAvailable -> log.info("🔍 Doctor {} availability check: {}", doctorId,
+                        isAvailable ? "Available" : "Busy"));
     }
 
-    public List<Appointment> getAllAppointments() {
-        return appointmentRepository.findAll();
+    public Flux<Appointment> getAllAppointments() {
+        return appointmentStore.findAll();
     }
 
-    public List<Appointment> getAppointmentsByPatient(String patientId) {
-        return appointmentRepository.findByPatientIdOrderByAppointmentDateTimeDesc(patientId);
+    public Flux<Appointment> getAppointmentsByPatient(String patientId) {
+        return appointmentStore.findByPatientId(patientId);
     }
 
-    public List<Appointment> getAppointmentsByDoctor(String doctorId) {
-        return appointmentRepository.findByDoctorIdOrderByAppointmentDateTimeDesc(doctorId);
+    public Flux<Appointment> getAppointmentsByDoctor(String doctorId) {
+        return appointmentStore.findByDoctorId(doctorId);
     }
 
-    public Appointment updateAppointmentStatus(UUID appointmentId, Appointment.AppointmentStatus status) {
-        Appointment appointment = appointmentRepository.findById(appointmentId)
-                .orElseThrow(() -> new RuntimeException("Appointment not found"));
-        
-        appointment.setStatus(status);
-        appointment.setUpdatedAt(LocalDateTime.now());
-        
-        Appointment updatedAppointment = appointmentRepository.save(appointment);
-        
-        // Publish status update event
-        eventPublisher.publishAppointmentStatusUpdatedEvent(updatedAppointment);
-        
-        return updatedAppointment;
+    public Mono<Appointment> updateAppointmentStatus(UUID appointmentId, Appointment.AppointmentStatus status) {
+        return findAppointment(appointmentId)
+                // Un-cancelling re-books the slot, so it takes the doctor's lock as well. The
+                // appointment is read again under the lock, so a status change that finished
+                // in between is the one this change starts from
+                .flatMap(found -> doctorBookingLocks.withLock(found.getDoctorId(),
+                        () -> findAppointment(appointmentId).flatMap(appointment -> {
+                            Appointment.AppointmentStatus previousStatus = appointment.getStatus();
+                            appointment.setStatus(status);
+                            appointment.setUpdatedAt(LocalDateTime.now());
+                            return appointmentStore.update(appointment)
+                                    .onErrorMap(DataIntegrityViolationException.class,
+                                            e -> new IllegalStateException(SLOT_TAKEN, e))
+                                    .doOnNext(doctorScheduleIndex::onSaved)
+                                    .doOnNext(updated ->
+                                            appointmentStatusCounters.onStatusChanged(previousStatus, status));
+                        })))
+                .doOnNext(updatedAppointment -> {
+                    // Publish status update event
+                    eventPublisher.publishAppointmentStatusUpdatedEvent(updatedAppointment);
+                });
+    }
+
+    private Mono<Appointment> findAppointment(UUID appointmentId) {
+        return appointmentStore.findById(appointmentId)
+                .switchIfEmpty(Mono.error(new NoSuchElementException("Appointment not found")));
+    }
+
+    /**
+     * Open windows of at least {@code duration} (default: one slot) within working hours
+     * in [from, to), for one doctor or for every doctor of a specialization. Doctors are
+     * searched in parallel and returned in doctor-service's order.
+     */
+    public Flux<DoctorFreeSlotsDTO> findFreeSlots(String doctorId, String specialization,
+                                                 LocalDateTime from, LocalDateTime to, Duration duration) {
+        if ((doctorId == null) == (specialization == null)) {
+            return Flux.error(new IllegalArgumentException("Exactly one of doctorId or specialization is required"));
+        }
+        Duration minLength = duration != null ? duration : doctorScheduleIndex.getSlotDuration();
+        if (minLength.compareTo(doctorScheduleIndex.getSlotDuration()) < 0) {
+            return Flux.error(new IllegalArgumentException("duration must be at least one slot"));
+        }
+        if (!to.isAfter(from) || Duration.between(from, to).compareTo(freeSlotsMaxRange) > 0) {
+            return Flux.error(new IllegalArgumentException("to must be after from and within " + freeSlotsMaxRange));
+        }
+        // Past time is never bookable
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime start = from.isBefore(now) ? now : from;
+
+        Flux<Map<String, Object>> doctors = doctorId != null
+                ? Flux.just(Map.<String, Object>of("id", doctorId))
+                : doctorServiceClient.getDoctorsBySpecialization(specialization).flatMapMany(Flux::fromIterable);
+
+        return doctors.flatMapSequential(doctor -> {
+            String id = String.valueOf(doctor.get("id"));
+            Mono<List<LocalDateTime[]>> windows = start.isBefore(to)
+                    ? doctorScheduleIndex.openWindows(id, start, to, workingDayStart, workingDayEnd, minLength)
+                    : Mono.just(List.of());
+            return windows.map(open -> new DoctorFreeSlotsDTO(id, (String) doctor.get("name"),
+                    open.stream().map(window -> new DoctorFreeSlotsDTO.Window(window[0], window[1])).toList()));
+        }, freeSlotsConcurrency);
     }
 
-    public long getAppointmentStats(String type) {
-        return switch (type.toLowerCase()) {
-            case "scheduled" -> appointmentRepository.countByStatus(Appointment.AppointmentStatus.SCHEDULED);
-            case "completed" -> appointmentRepository.countByStatus(Appointment.AppointmentStatus.COMPLETED);
-            case "cancelled" -> appointmentRepository.countByStatus(Appointment.AppointmentStatus.CANCELLED);
-            default -> appointmentRepository.count();
-        };
+    public Mono<Map<Appointment.AppointmentStatus, Long>> getAppointmentCountsByStatus() {
+        return appointmentStatusCounters.countsByStatus();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,140 @@
+package com.pm.appointmentservice.service;
+
+import com.pm.appointmentservice.model.Appointment;
+import com.pm.appointmentservice.repository.AppointmentStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Appointment counts per status. With {@code appointment.stats.in-memory=true} the counts
+ * live in memory: this instance's creates and status changes adjust them, and a GROUP BY
+ * recount every {@code reconcile-interval} replaces them, picking up other instances'
+ * writes. Otherwise every read runs the GROUP BY.
+ */
+@Component
+public class AppointmentStatusCounters implements InitializingBean, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(AppointmentStatusCounters.class);
+    private static final Appointment.AppointmentStatus[] STATUSES = Appointment.AppointmentStatus.values();
+
+    private final AppointmentStore appointmentStore;
+    private final boolean inMemory;
+    private final Duration reconcileInterval;
+    // Last recount plus this instance's changes since; null until the first recount
+    private volatile Counts current;
+    // Changes recorded while a recount is running; becomes the delta of its result
+    private volatile AtomicLongArray pending;
+    private Disposable reconciler;
+
+    public AppointmentStatusCounters(AppointmentStore appointmentStore,
+                                     @Value("${appointment.stats.in-memory:true}") boolean inMemory,
+                                     @Value("${appointment.stats.reconcile-interval:1m}") Duration reconcileInterval) {
+        this.appointmentStore = appointmentStore;
+        this.inMemory = inMemory;
+        this.reconcileInterval = reconcileInterval;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (inMemory) {
+            reconciler = Flux.interval(Duration.ZERO, reconcileInterval)
+                    .concatMap(tick -> recount()
+                            .onErrorResume(e -> {
+                                log.warn("Appointment stats recount failed: {}", e.getMessage());
+                                return Mono.empty();
+                            }))
+                    .subscribe();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (reconciler != null) {
+            reconciler.dispose();
+        }
+    }
+
+    /** Counts for every status, zero included. Falls back to the database until the first recount. */
+    public Mono<Map<Appointment.AppointmentStatus, Long>> countsByStatus() {
+        Counts counts = current;
+        if (!inMemory || counts == null) {
+            return appointmentStore.countByStatus().map(AppointmentStatusCounters::withZeros);
+        }
+        Map<Appointment.AppointmentStatus, Long> snapshot = new EnumMap<>(Appointment.AppointmentStatus.class);
+        for (Appointment.AppointmentStatus status : STATUSES) {
+            snapshot.put(status, counts.get(status.ordinal()));
+        }
+        return Mono.just(snapshot);
+    }
+
+    public void onCreated(Appointment.AppointmentStatus status) {
+        add(status, 1);
+    }
+
+    public void onStatusChanged(Appointment.AppointmentStatus from, Appointment.AppointmentStatus to) {
+        if (from != to) {
+            add(from, -1);
+            add(to, 1);
+        }
+    }
+
+    private void add(Appointment.AppointmentStatus status, long delta) {
+        if (!inMemory) {
+            return;
+        }
+        // Read pending before current: a change that lands in neither was recorded before
+        // the running recount started, so its query already counts it
+        AtomicLongArray during = pending;
+        Counts counts = current;
+        if (counts != null) {
+            counts.delta.addAndGet(status.ordinal(), delta);
+        }
+        if (during != null && (counts == null || during != counts.delta)) {
+            during.addAndGet(status.ordinal(), delta);
+        }
+    }
+
+    private Mono<Void> recount() {
+        return Mono.defer(() -> {
+            AtomicLongArray during = new AtomicLongArray(STATUSES.length);
+            pending = during;
+            return appointmentStore.countByStatus().doOnNext(fromDatabase -> {
+                long[] base = new long[STATUSES.length];
+                for (Appointment.AppointmentStatus status : STATUSES) {
+                    base[status.ordinal()] = fromDatabase.getOrDefault(status, 0L);
+                }
+                // A change committed just before the query but recorded after it started is
+                // counted twice until the next recount
+                current = new Counts(base, during);
+            }).doFinally(signal -> pending = null);
+        }).then();
+    }
+
+    private record Counts(long[] base, AtomicLongArray delta) {
+
+        long get(int index) {
+            return base[index] + delta.get(index);
+        }
+    }
+
+    private static Map<Appointment.AppointmentStatus, Long> withZeros(
+            Map<Appointment.AppointmentStatus, Long> counts) {
+        Map<Appointment.AppointmentStatus, Long> all = new EnumMap<>(Appointment.AppointmentStatus.class);
+        for (Appointment.AppointmentStatus status : STATUSES) {
+            all.put(status, counts.getOrDefault(status, 0L));
+        }
+        return all;
+    }
+}
@@ -0,0 +1,56 @@
+package com.pm.appointmentservice.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Striped, non-blocking per-doctor mutex. Bookings for doctors on the same stripe run
+ * one after another; different stripes run in parallel. Nothing blocks a thread while
+ * waiting: each caller chains onto the previous holder's release future.
+ *
+ * <p>This only orders bookings within one instance. The appointments_no_overlap
+ * exclusion constraint is the guard across instances.
+ */
+@Component
+public class DoctorBookingLocks {
+
+    private final AtomicReference<CompletableFuture<Void>>[] tails;
+    private final int mask;
+
+    @SuppressWarnings("unchecked")
+    public DoctorBookingLocks(@Value("${appointment.booking.lock-stripes:1024}") int stripes) {
+        int size = Integer.highestOneBit(Math.max(stripes - 1, 1)) << 1;
+        this.tails = new AtomicReference[size];
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            tails[i] = new AtomicReference<>(CompletableFuture.completedFuture(null));
+        }
+    }
+
+    /**
+     * Subscribes to {@code action} once every earlier holder of {@code doctorId}'s stripe
+     * has finished, and releases the stripe when it terminates or is cancelled (never before
+     * the earlier holders have released it).
+     */
+    public <T> Mono<T> withLock(String doctorId, Supplier<Mono<T>> action) {
+        return Mono.defer(() -> {
+            CompletableFuture<Void> released = new CompletableFuture<>();
+            CompletableFuture<Void> previous = tails[stripe(doctorId)].getAndSet(released);
+            return Mono.fromFuture(previous, true)
+                    .then(Mono.defer(action))
+                    // Cancelled while still queued: hand over only once the predecessor is done,
+                    // or the next caller would run alongside it
+                    .doFinally(signal -> previous.whenComplete((ignored, error) -> released.complete(null)));
+        });
+    }
+
+    private int stripe(String doctorId) {
+        int hash = doctorId.hashCode();
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
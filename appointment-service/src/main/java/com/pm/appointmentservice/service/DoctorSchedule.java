@@ -0,0 +1,143 @@
+package com.pm.appointmentservice.service;
+
+import com.pm.appointmentservice.model.Appointment;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Booked (non-cancelled) slots of one doctor from {@code loadedFrom} onwards, keyed by
+ * start time. Every slot lasts {@code slotDuration}, so two slots overlap exactly when
+ * their starts are less than one slot apart, and a conflict check is a single
+ * {@code subMap} lookup.
+ */
+final class DoctorSchedule {
+
+    private final LocalDateTime loadedFrom;
+    private final Duration slotDuration;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Usually one appointment per start; more only if a double booking already exists
+    private final NavigableMap<LocalDateTime, Set<UUID>> bookedByStart = new TreeMap<>();
+    private final Map<UUID, LocalDateTime> startById = new HashMap<>();
+
+    DoctorSchedule(LocalDateTime loadedFrom, Duration slotDuration, List<Appointment> appointments) {
+        this.loadedFrom = loadedFrom;
+        this.slotDuration = slotDuration;
+        appointments.forEach(this::putLocked);
+    }
+
+    /** Whether a slot starting at {@code start} can be checked without missing older rows. */
+    boolean covers(LocalDateTime start) {
+        return !start.minus(slotDuration).isBefore(loadedFrom);
+    }
+
+    boolean hasConflict(LocalDateTime start) {
+        lock.readLock().lock();
+        try {
+            return !bookedByStart.subMap(start.minus(slotDuration), false,
+                    start.plus(slotDuration), false).isEmpty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Open windows of at least {@code minLength} inside [from, to), limited to
+     * [dayStart, dayEnd) on each day. The booked intervals in range are already sorted,
+     * so this is one merge pass over them against the days' working hours.
+     */
+    List<LocalDateTime[]> openWindows(LocalDateTime from, LocalDateTime to,
+                                      LocalTime dayStart, LocalTime dayEnd, Duration minLength) {
+        List<LocalDateTime[]> open = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Iterator<LocalDateTime> booked = bookedByStart.subMap(from.minus(slotDuration), false,
+                    to, false).keySet().iterator();
+            LocalDateTime next = booked.hasNext() ? booked.next() : null;
+
+            for (LocalDate day = from.toLocalDate(); day.atTime(dayStart).isBefore(to); day = day.plusDays(1)) {
+                LocalDateTime cursor = latest(day.atTime(dayStart), from);
+                LocalDateTime workEnd = earliest(day.atTime(dayEnd), to);
+                if (!cursor.isBefore(workEnd)) {
+                    continue;
+                }
+                while (next != null && next.isBefore(workEnd)) {
+                    LocalDateTime bookedEnd = next.plus(slotDuration);
+                    if (next.isAfter(cursor)) {
+                        addIfLongEnough(open, cursor, next, minLength);
+                    }
+                    cursor = latest(cursor, bookedEnd);
+                    if (bookedEnd.isAfter(workEnd)) {
+                        // Runs into the next working period; look at it again there
+                        break;
+                    }
+                    next = booked.hasNext() ? booked.next() : null;
+                }
+                if (cursor.isBefore(workEnd)) {
+                    addIfLongEnough(open, cursor, workEnd, minLength);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return open;
+    }
+
+    private static void addIfLongEnough(List<LocalDateTime[]> open, LocalDateTime start, LocalDateTime end,
+                                        Duration minLength) {
+        if (!start.plus(minLength).isAfter(end)) {
+            open.add(new LocalDateTime[] {start, end});
+        }
+    }
+
+    private static LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private static LocalDateTime earliest(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    /** Applies a created or updated appointment; cancelled ones free their slot. */
+    void put(Appointment appointment) {
+        lock.writeLock().lock();
+        try {
+            putLocked(appointment);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void putLocked(Appointment appointment) {
+        removeLocked(appointment.getId());
+        if (appointment.getStatus() != Appointment.AppointmentStatus.CANCELLED) {
+            bookedByStart.computeIfAbsent(appointment.getAppointmentDateTime(), start -> new HashSet<>())
+                    .add(appointment.getId());
+            startById.put(appointment.getId(), appointment.getAppointmentDateTime());
+        }
+    }
+
+    private void removeLocked(UUID appointmentId) {
+        LocalDateTime start = startById.remove(appointmentId);
+        if (start != null) {
+            Set<UUID> ids = bookedByStart.get(start);
+            ids.remove(appointmentId);
+            if (ids.isEmpty()) {
+                bookedByStart.remove(start);
+            }
+        }
+    }
+}
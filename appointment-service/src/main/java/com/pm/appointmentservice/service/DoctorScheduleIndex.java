@@ -0,0 +1,102 @@
+package com.pm.appointmentservice.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pm.appointmentservice.model.Appointment;
+import com.pm.appointmentservice.repository.AppointmentStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * In-memory booked-slot index for the doctors currently being booked. A doctor's
+ * schedule is loaded on first use (appointments from {@code horizon} ago onwards) and
+ * kept in sync with this instance's writes. The working set is bounded by
+ * {@code max-doctors} and {@code expire-after-access}. {@code expire-after-write}
+ * bounds how long writes made by other instances can go unseen.
+ */
+@Component
+public class DoctorScheduleIndex {
+
+    private final AppointmentStore appointmentStore;
+    private final Duration slotDuration;
+    private final Duration horizon;
+    private final AsyncCache<String, DoctorSchedule> schedules;
+
+    public DoctorScheduleIndex(AppointmentStore appointmentStore,
+                               @Value("${appointment.slot-duration:30m}") Duration slotDuration,
+                               @Value("${appointment.schedule-index.horizon:1d}") Duration horizon,
+                               @Value("${appointment.schedule-index.max-doctors:1000}") long maxDoctors,
+                               @Value("${appointment.schedule-index.expire-after-access:30m}") Duration expireAfterAccess,
+                               @Value("${appointment.schedule-index.expire-after-write:5m}") Duration expireAfterWrite) {
+        this.appointmentStore = appointmentStore;
+        this.slotDuration = slotDuration;
+        this.horizon = horizon;
+        this.schedules = Caffeine.newBuilder()
+                .maximumSize(maxDoctors)
+                .expireAfterAccess(expireAfterAccess)
+                .expireAfterWrite(expireAfterWrite)
+                .buildAsync();
+    }
+
+    public Duration getSlotDuration() {
+        return slotDuration;
+    }
+
+    /**
+     * True when no booked slot overlaps a slot starting at {@code start}. Times before the
+     * loaded horizon are checked against the database instead.
+     */
+    public Mono<Boolean> isAvailable(String doctorId, LocalDateTime start) {
+        return schedule(doctorId).flatMap(schedule -> {
+            if (schedule.covers(start)) {
+                return Mono.just(!schedule.hasConflict(start));
+            }
+            LocalDateTime windowStart = start.minus(slotDuration);
+            LocalDateTime windowEnd = start.plus(slotDuration);
+            return appointmentStore.findDoctorAppointmentsInTimeRange(doctorId, windowStart, windowEnd)
+                    .filter(appointment -> appointment.getAppointmentDateTime().isAfter(windowStart)
+                            && appointment.getAppointmentDateTime().isBefore(windowEnd))
+                    .hasElements()
+                    .map(hasConflicts -> !hasConflicts);
+        });
+    }
+
+    /** Open windows of at least {@code minLength}; see {@link DoctorSchedule#openWindows}. */
+    public Mono<List<LocalDateTime[]>> openWindows(String doctorId, LocalDateTime from, LocalDateTime to,
+                                                   LocalTime dayStart, LocalTime dayEnd, Duration minLength) {
+        return schedule(doctorId).flatMap(schedule -> schedule.covers(from)
+                ? Mono.just(schedule.openWindows(from, to, dayStart, dayEnd, minLength))
+                : loadSchedule(doctorId, from.minus(slotDuration))
+                        .map(window -> window.openWindows(from, to, dayStart, dayEnd, minLength)));
+    }
+
+    /**
+     * Applies a saved appointment to its doctor's schedule if one is loaded or loading.
+     * Applying after a load that already saw the row is harmless: entries are keyed by ID.
+     */
+    public void onSaved(Appointment appointment) {
+        CompletableFuture<DoctorSchedule> schedule = schedules.getIfPresent(appointment.getDoctorId());
+        if (schedule != null) {
+            schedule.thenAccept(loaded -> loaded.put(appointment));
+        }
+    }
+
+    private Mono<DoctorSchedule> schedule(String doctorId) {
+        // suppressCancel: the future is shared by every caller waiting on this doctor
+        return Mono.fromFuture(() -> schedules.get(doctorId, (id, executor) ->
+                loadSchedule(id, LocalDateTime.now().minus(horizon)).toFuture()), true);
+    }
+
+    private Mono<DoctorSchedule> loadSchedule(String doctorId, LocalDateTime from) {
+        return appointmentStore.findUpcomingForDoctor(doctorId, from)
+                .collectList()
+                .map(appointments -> new DoctorSchedule(from, slotDuration, appointments));
+    }
+}
@@ -0,0 +1,18 @@
+-- Cross-instance guard behind DoctorBookingLocks: a doctor's non-cancelled
+-- appointments may not overlap. Ranges are half-open, so back-to-back slots
+-- are fine. The interval must match appointment.slot-duration; SlotDurationCheck
+-- refuses to start otherwise.
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+DO $$
+BEGIN
+  ALTER TABLE appointments ADD CONSTRAINT appointments_no_overlap EXCLUDE USING gist (
+    doctor_id WITH =,
+    tsrange(appointment_date_time, appointment_date_time + interval '30 minutes') WITH &&
+  ) WHERE (status <> 'CANCELLED');
+EXCEPTION
+  WHEN duplicate_table OR duplicate_object THEN
+    NULL;
+  WHEN exclusion_violation THEN
+    RAISE WARNING 'appointments_no_overlap not added: existing appointments overlap';
+END $$;
@@ -0,0 +1,88 @@
+package com.pm.appointmentservice.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaRoutingDataSourceTest {
+
+    private ReplicaRoutingDataSource routing;
+    private DataSource dataSource;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (routing != null) {
+            routing.destroy();
+        }
+    }
+
+    @Test
+    void readOnlyTransactionsUseReplicaAndWritesUsePrimary() {
+        JdbcTemplate jdbc = start("SELECT 0");
+
+        assertThat(readOnly().execute(status -> whichNode(jdbc))).isEqualTo("replica");
+        assertThat(readWrite().execute(status -> whichNode(jdbc))).isEqualTo("primary");
+    }
+
+    @Test
+    void onPrimaryKeepsReadOnlyTransactionsOnPrimary() {
+        JdbcTemplate jdbc = start("SELECT 0");
+
+        assertThat(ReplicaRoutingDataSource.onPrimary(
+                () -> readOnly().execute(status -> whichNode(jdbc)))).isEqualTo("primary");
+        assertThat(ReplicaRoutingDataSource.onPrimary(() -> ReplicaRoutingDataSource.onPrimary(
+                () -> readOnly().execute(status -> whichNode(jdbc))))).isEqualTo("primary");
+        // Routing is back to normal once the outermost call returns
+        assertThat(readOnly().execute(status -> whichNode(jdbc))).isEqualTo("replica");
+    }
+
+    @Test
+    void laggingReplicaFallsBackToPrimary() {
+        JdbcTemplate jdbc = start("SELECT 10");
+
+        assertThat(routing.isReplicaUsable()).isFalse();
+        assertThat(readOnly().execute(status -> whichNode(jdbc))).isEqualTo("primary");
+    }
+
+    private JdbcTemplate start(String lagQuery) {
+        routing = new ReplicaRoutingDataSource(node("primary"), node("replica"),
+                lagQuery, Duration.ofSeconds(5), Duration.ofMinutes(1));
+        routing.afterPropertiesSet();
+        routing.checkReplicaLag();
+        dataSource = new LazyConnectionDataSourceProxy(routing);
+        return new JdbcTemplate(dataSource);
+    }
+
+    private TransactionTemplate readOnly() {
+        TransactionTemplate template = readWrite();
+        template.setReadOnly(true);
+        return template;
+    }
+
+    private TransactionTemplate readWrite() {
+        return new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    private static String whichNode(JdbcTemplate jdbc) {
+        return jdbc.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private static DataSource node(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "_node;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(16))");
+        jdbc.update("DELETE FROM node");
+        jdbc.update("INSERT INTO node (name) VALUES (?)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,128 @@
+package com.pm.appointmentservice.service;
+
+import com.pm.appointmentservice.model.Appointment;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DoctorScheduleTest {
+
+    private static final Duration SLOT = Duration.ofMinutes(30);
+    private static final LocalDateTime DAY = LocalDateTime.of(2026, 3, 2, 0, 0);
+    private static final LocalTime NINE = LocalTime.of(9, 0);
+    private static final LocalTime FIVE = LocalTime.of(17, 0);
+
+    @Test
+    void openWindowsSkipBookingsAndStayWithinWorkingHours() {
+        DoctorSchedule schedule = new DoctorSchedule(DAY, SLOT, List.of(
+                booking(DAY.withHour(10)),
+                booking(DAY.withHour(10).withMinute(20)),
+                booking(DAY.withHour(16).withMinute(45))));
+
+        assertThat(windows(schedule.openWindows(DAY, DAY.plusDays(2), NINE, FIVE, SLOT))).containsExactly(
+                "2026-03-02T09:00/2026-03-02T10:00",
+                "2026-03-02T10:50/2026-03-02T16:45",
+                "2026-03-03T09:00/2026-03-03T17:00");
+    }
+
+    @Test
+    void windowsShorterThanTheMinimumAreDropped() {
+        DoctorSchedule schedule = new DoctorSchedule(DAY, SLOT, List.of(
+                booking(DAY.withHour(9).withMinute(20)),
+                booking(DAY.withHour(10).withMinute(30))));
+
+        assertThat(windows(schedule.openWindows(DAY.withHour(9), DAY.withHour(12), NINE, FIVE,
+                Duration.ofMinutes(40)))).containsExactly(
+                "2026-03-02T09:50/2026-03-02T10:30",
+                "2026-03-02T11:00/2026-03-02T12:00");
+    }
+
+    @Test
+    void cancelledAppointmentsFreeTheirSlot() {
+        Appointment appointment = booking(DAY.withHour(12));
+        DoctorSchedule schedule = new DoctorSchedule(DAY, SLOT, List.of(appointment));
+        assertThat(schedule.hasConflict(DAY.withHour(12).withMinute(15))).isTrue();
+
+        appointment.setStatus(Appointment.AppointmentStatus.CANCELLED);
+        schedule.put(appointment);
+
+        assertThat(schedule.hasConflict(DAY.withHour(12).withMinute(15))).isFalse();
+        assertThat(windows(schedule.openWindows(DAY, DAY.plusDays(1), NINE, FIVE, SLOT)))
+                .containsExactly("2026-03-02T09:00/2026-03-02T17:00");
+    }
+
+    /** Compares against a minute-by-minute scan on a 10-minute grid. */
+    @Test
+    void openWindowsMatchABruteForceScan() {
+        Random random = new Random(1);
+        for (int run = 0; run < 5_000; run++) {
+            List<Appointment> bookings = new ArrayList<>();
+            for (int i = random.nextInt(15); i > 0; i--) {
+                bookings.add(booking(DAY.plusMinutes(10L * random.nextInt(600))));
+            }
+            DoctorSchedule schedule = new DoctorSchedule(DAY, SLOT, bookings);
+
+            LocalDateTime from = DAY.plusMinutes(10L * random.nextInt(300));
+            LocalDateTime to = from.plusMinutes(10L * random.nextInt(400));
+            LocalTime dayStart = LocalTime.of(random.nextInt(12), random.nextBoolean() ? 0 : 30);
+            LocalTime dayEnd = dayStart.plusMinutes(30 + 10L * random.nextInt(60));
+            if (dayEnd.isBefore(dayStart)) {
+                dayEnd = LocalTime.of(23, 50);
+            }
+            Duration minLength = Duration.ofMinutes(10L * (1 + random.nextInt(9)));
+
+            assertThat(windows(schedule.openWindows(from, to, dayStart, dayEnd, minLength)))
+                    .as("from %s to %s, hours %s-%s, min %s, bookings %s", from, to, dayStart, dayEnd,
+                            minLength, bookings.stream().map(Appointment::getAppointmentDateTime).toList())
+                    .containsExactlyElementsOf(bruteForce(bookings, from, to, dayStart, dayEnd, minLength));
+        }
+    }
+
+    private static List<String> bruteForce(List<Appointment> bookings, LocalDateTime from, LocalDateTime to,
+                                           LocalTime dayStart, LocalTime dayEnd, Duration minLength) {
+        List<String> open = new ArrayList<>();
+        LocalDateTime windowStart = null;
+        for (LocalDateTime minute = from; minute.isBefore(to); minute = minute.plusMinutes(10)) {
+            LocalTime time = minute.toLocalTime();
+            boolean working = !time.isBefore(dayStart) && time.isBefore(dayEnd);
+            boolean busy = false;
+            for (Appointment booking : bookings) {
+                LocalDateTime start = booking.getAppointmentDateTime();
+                busy |= !minute.isBefore(start) && minute.isBefore(start.plus(SLOT));
+            }
+
+            if (working && !busy && windowStart == null) {
+                windowStart = minute;
+            } else if (!(working && !busy) && windowStart != null) {
+                if (!windowStart.plus(minLength).isAfter(minute)) {
+                    open.add(windowStart + "/" + minute);
+                }
+                windowStart = null;
+            }
+        }
+        if (windowStart != null && !windowStart.plus(minLength).isAfter(to)) {
+            open.add(windowStart + "/" + to);
+        }
+        return open;
+    }
+
+    private static Appointment booking(LocalDateTime start) {
+        Appointment appointment = new Appointment("patient", "Patient", "patient@example.com", "doctor",
+                "Doctor", start, Appointment.AppointmentType.CONSULTATION, null);
+        appointment.setId(UUID.randomUUID());
+        appointment.setStatus(Appointment.AppointmentStatus.SCHEDULED);
+        return appointment;
+    }
+
+    private static List<String> windows(List<LocalDateTime[]> windows) {
+        return windows.stream().map(window -> window[0] + "/" + window[1]).toList();
+    }
+}
@@ -0,0 +1,23 @@
+package com.pm.billingservice.config;
+
+import net.devh.boot.grpc.server.serverfactory.GrpcServerConfigurer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.Executors;
+
+/**
+ * spring.threads.virtual.enabled covers Tomcat, @Async and Kafka listeners but not the
+ * gRPC server, whose handlers block on JDBC just the same.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class GrpcVirtualThreadConfig {
+
+    @Bean
+    public GrpcServerConfigurer virtualThreadGrpcServerConfigurer() {
+        // Not exposed as an Executor bean: that would replace Boot's applicationTaskExecutor
+        return serverBuilder -> serverBuilder.executor(Executors.newVirtualThreadPerTaskExecutor());
+    }
+}
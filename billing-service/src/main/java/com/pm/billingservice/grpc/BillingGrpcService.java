@@ -1,9 +1,12 @@
 package com.pm.billingservice.grpc;
 
+import billing.BillingBatchRequest;
+import billing.BillingBatchResponse;
 import billing.BillingRequest;
 import billing.BillingResponse;
 import billing.BillingServiceGrpc.BillingServiceImplBase;
 import com.pm.billingservice.model.BillingAccount;
+import com.pm.billingservice.model.UuidV7Generator;
 import com.pm.billingservice.repository.BillingAccountRepository;
 import io.grpc.stub.StreamObserver;
 import net.devh.boot.grpc.server.service.GrpcService;
@@ -11,6 +14,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 @GrpcService
 public class BillingGrpcService extends BillingServiceImplBase {
@@ -45,31 +52,8 @@ public class BillingGrpcService extends BillingServiceImplBase {
           return;
         }
 
-        // Generate unique account number
-        String accountNumber = "BA-" + System.currentTimeMillis();
-        
-        // Parse date of birth safely
-        LocalDate dateOfBirth = null;
-        if (billingRequest.getDateOfBirth() != null && !billingRequest.getDateOfBirth().isEmpty()) {
-          try {
-            dateOfBirth = LocalDate.parse(billingRequest.getDateOfBirth());
-          } catch (Exception e) {
-            log.warn("Invalid date format: {}", billingRequest.getDateOfBirth());
-            dateOfBirth = LocalDate.now().minusYears(30);
-          }
-        } else {
-          dateOfBirth = LocalDate.now().minusYears(30);
-        }
-        
         // Create billing account entity
-        BillingAccount billingAccount = new BillingAccount(
-            accountNumber,
-            billingRequest.getPatientId(),
-            billingRequest.getName(),
-            billingRequest.getEmail(),
-            dateOfBirth,
-            billingRequest.getAddress()
-        );
+        BillingAccount billingAccount = toBillingAccount(billingRequest, nextAccountNumber());
         
         // Save to database
         BillingAccount savedAccount = billingAccountRepository.save(billingAccount);
@@ -97,4 +81,93 @@ public class BillingGrpcService extends BillingServiceImplBase {
         responseObserver.onCompleted();
       }
   }
+
+  @Override
+  public void createBillingAccounts(BillingBatchRequest batchRequest,
+      StreamObserver<BillingBatchResponse> responseObserver) {
+
+    log.info("createBillingAccounts request received for {} patients",
+        batchRequest.getRequestsCount());
+
+    BillingBatchResponse.Builder batchResponse = BillingBatchResponse.newBuilder();
+
+    try {
+      // One set-based lookup instead of existsByPatientId per request
+      Set<String> patientIds = new HashSet<>();
+      batchRequest.getRequestsList().forEach(request -> patientIds.add(request.getPatientId()));
+      Set<String> existingPatientIds = new HashSet<>(
+          billingAccountRepository.findExistingPatientIds(patientIds));
+
+      List<BillingAccount> newAccounts = new ArrayList<>();
+      List<BillingResponse> responses = new ArrayList<>();
+
+      for (int i = 0; i < batchRequest.getRequestsCount(); i++) {
+        BillingRequest billingRequest = batchRequest.getRequests(i);
+
+        if (!existingPatientIds.add(billingRequest.getPatientId())) {
+          responses.add(BillingResponse.newBuilder()
+              .setAccountId("EXISTING")
+              .setStatus("ALREADY_EXISTS")
+              .build());
+          continue;
+        }
+
+        BillingAccount billingAccount = toBillingAccount(billingRequest, nextAccountNumber());
+        newAccounts.add(billingAccount);
+        responses.add(BillingResponse.newBuilder()
+            .setAccountId(billingAccount.getAccountNumber())
+            .setStatus("ACTIVE")
+            .build());
+      }
+
+      billingAccountRepository.saveAll(newAccounts);
+      log.info("Created {} billing accounts in batch", newAccounts.size());
+
+      batchResponse.addAllResponses(responses);
+
+    } catch (Exception e) {
+      log.error("Error creating billing accounts in batch: {}", e.getMessage());
+
+      batchResponse.clearResponses();
+      for (int i = 0; i < batchRequest.getRequestsCount(); i++) {
+        batchResponse.addResponses(BillingResponse.newBuilder()
+            .setAccountId("ERROR")
+            .setStatus("FAILED")
+            .build());
+      }
+    }
+
+    responseObserver.onNext(batchResponse.build());
+    responseObserver.onCompleted();
+  }
+
+  // Timestamps collide across instances and concurrent calls; a UUIDv7 does
+  // not, and the unique column on accountNumber backs that up
+  private static String nextAccountNumber() {
+    return "BA-" + UuidV7Generator.nextUuid();
+  }
+
+  private BillingAccount toBillingAccount(BillingRequest billingRequest, String accountNumber) {
+    // Parse date of birth safely
+    LocalDate dateOfBirth;
+    if (billingRequest.getDateOfBirth() != null && !billingRequest.getDateOfBirth().isEmpty()) {
+      try {
+        dateOfBirth = LocalDate.parse(billingRequest.getDateOfBirth());
+      } catch (Exception e) {
+        log.warn("Invalid date format: {}", billingRequest.getDateOfBirth());
+        dateOfBirth = LocalDate.now().minusYears(30);
+      }
+    } else {
+      dateOfBirth = LocalDate.now().minusYears(30);
+    }
+
+    return new BillingAccount(
+        accountNumber,
+        billingRequest.getPatientId(),
+        billingRequest.getName(),
+        billingRequest.getEmail(),
+        dateOfBirth,
+        billingRequest.getAddress()
+    );
+  }
 }
@@ -10,7 +10,7 @@ import java.util.UUID;
 public class BillingAccount {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private UUID id;
 
     @Column(unique = true, nullable = false)
@@ -2,9 +2,13 @@ package com.pm.billingservice.repository;
 
 import com.pm.billingservice.model.BillingAccount;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Repository
@@ -13,4 +17,7 @@ public interface BillingAccountRepository extends JpaRepository<BillingAccount,
     Optional<BillingAccount> findByPatientId(String patientId);
     Optional<BillingAccount> findByAccountNumber(String accountNumber);
     boolean existsByPatientId(String patientId);
+
+    @Query("SELECT b.patientId FROM BillingAccount b WHERE b.patientId IN :patientIds")
+    Set<String> findExistingPatientIds(@Param("patientIds") Collection<String> patientIds);
 }
\ No newline at end of file
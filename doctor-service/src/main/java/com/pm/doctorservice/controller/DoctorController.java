@@ -3,13 +3,16 @@ package com.pm.doctorservice.controller;
 import com.pm.doctorservice.dto.DoctorRequestDTO;
 import com.pm.doctorservice.dto.DoctorResponseDTO;
 import com.pm.doctorservice.service.DoctorService;
+import com.pm.doctorservice.service.DoctorTableVersion;
 import io.swagger.v3.oas.annotations.Operation;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -18,9 +21,11 @@ import java.util.UUID;
 public class DoctorController {
 
     private final DoctorService doctorService;
+    private final DoctorTableVersion doctorTableVersion;
 
-    public DoctorController(DoctorService doctorService) {
+    public DoctorController(DoctorService doctorService, DoctorTableVersion doctorTableVersion) {
         this.doctorService = doctorService;
+        this.doctorTableVersion = doctorTableVersion;
     }
 
     @Operation(summary = "Create a new doctor")
@@ -36,31 +41,123 @@ public class DoctorController {
 
     @Operation(summary = "Get all doctors")
     @GetMapping
-    public ResponseEntity<List<DoctorResponseDTO>> getAllDoctors() {
+    public ResponseEntity<List<DoctorResponseDTO>> getAllDoctors(WebRequest webRequest) {
+        // Read the version before the data so the tag is never newer than the body
+        String etag = doctorTableVersion.etag();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
         List<DoctorResponseDTO> doctors = doctorService.getAllDoctors();
-        return ResponseEntity.ok(doctors);
+        return ResponseEntity.ok().eTag(etag).body(doctors);
+    }
+
+    @Operation(summary = "Get all doctors with only the requested fields, e.g. ?fields=id,name,email")
+    @GetMapping(params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getAllDoctorFields(@RequestParam String fields,
+                                                                        WebRequest webRequest) {
+        String etag = doctorTableVersion.etag();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        try {
+            return ResponseEntity.ok().eTag(etag).body(doctorService.getAllDoctors(fields));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @Operation(summary = "Get doctor by ID")
     @GetMapping("/{id}")
-    public ResponseEntity<DoctorResponseDTO> getDoctorById(@PathVariable UUID id) {
+    public ResponseEntity<DoctorResponseDTO> getDoctorById(@PathVariable UUID id, WebRequest webRequest) {
+        String etag = doctorTableVersion.etag();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
         Optional<DoctorResponseDTO> doctor = doctorService.getDoctorById(id);
-        return doctor.map(ResponseEntity::ok)
+        return doctor.map(body -> ResponseEntity.ok().eTag(etag).body(body))
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @Operation(summary = "Get doctor by ID with only the requested fields")
+    @GetMapping(value = "/{id}", params = "fields")
+    public ResponseEntity<Map<String, Object>> getDoctorFieldsById(@PathVariable UUID id,
+                                                                   @RequestParam String fields,
+                                                                   WebRequest webRequest) {
+        String etag = doctorTableVersion.etag();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        try {
+            return doctorService.getDoctorById(id, fields)
+                    .map(body -> ResponseEntity.ok().eTag(etag).body(body))
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @Operation(summary = "Get doctors by specialization")
     @GetMapping("/specialization/{specialization}")
-    public ResponseEntity<List<DoctorResponseDTO>> getDoctorsBySpecialization(@PathVariable String specialization) {
+    public ResponseEntity<List<DoctorResponseDTO>> getDoctorsBySpecialization(@PathVariable String specialization,
+                                                                              WebRequest webRequest) {
+        String etag = doctorTableVersion.etag();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
         List<DoctorResponseDTO> doctors = doctorService.getDoctorsBySpecialization(specialization);
-        return ResponseEntity.ok(doctors);
+        return ResponseEntity.ok().eTag(etag).body(doctors);
+    }
+
+    @Operation(summary = "Get doctors by specialization with only the requested fields")
+    @GetMapping(value = "/specialization/{specialization}", params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getDoctorFieldsBySpecialization(
+            @PathVariable String specialization, @RequestParam String fields, WebRequest webRequest) {
+        String etag = doctorTableVersion.etag();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        try {
+            return ResponseEntity.ok().eTag(etag)
+                    .body(doctorService.getDoctorsBySpecialization(specialization, fields));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @Operation(summary = "Get doctors by department")
     @GetMapping("/department/{department}")
-    public ResponseEntity<List<DoctorResponseDTO>> getDoctorsByDepartment(@PathVariable String department) {
+    public ResponseEntity<List<DoctorResponseDTO>> getDoctorsByDepartment(@PathVariable String department,
+                                                                          WebRequest webRequest) {
+        String etag = doctorTableVersion.etag();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
         List<DoctorResponseDTO> doctors = doctorService.getDoctorsByDepartment(department);
-        return ResponseEntity.ok(doctors);
+        return ResponseEntity.ok().eTag(etag).body(doctors);
+    }
+
+    @Operation(summary = "Get doctors by department with only the requested fields")
+    @GetMapping(value = "/department/{department}", params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getDoctorFieldsByDepartment(
+            @PathVariable String department, @RequestParam String fields, WebRequest webRequest) {
+        String etag = doctorTableVersion.etag();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        try {
+            return ResponseEntity.ok().eTag(etag)
+                    .body(doctorService.getDoctorsByDepartment(department, fields));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @Operation(summary = "Update doctor")
@@ -34,7 +34,7 @@ public class TestAppointmentController {
     public ResponseEntity<AppointmentResponseDTO> bookTestAppointment() {
         try {
             // Get latest patient
-            Map<String, Object>[] patients = restTemplate.getForObject("http://java-spring-microservices-patient-service-1:4000/patients", Map[].class);
+            Map<String, Object>[] patients = restTemplate.getForObject("http://java-spring-microservices-patient-service-1:4000/patients?unpaged=true", Map[].class);
             if (patients == null || patients.length == 0) {
                 return ResponseEntity.badRequest().build();
             }
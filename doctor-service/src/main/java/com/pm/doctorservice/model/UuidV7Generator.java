@@ -0,0 +1,49 @@
+package com.pm.doctorservice.model;
+
+import java.security.SecureRandom;
+import java.util.EnumSet;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+/**
+ * RFC 9562 UUIDv7: 48-bit Unix millisecond timestamp, then a 12-bit counter
+ * that keeps IDs from this JVM strictly increasing within a millisecond, then
+ * 62 random bits.
+ */
+public class UuidV7Generator implements BeforeExecutionGenerator {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    // (unix millis << 12) | counter of the last issued ID
+    private static final AtomicLong LAST_TIMESTAMP_AND_COUNTER = new AtomicLong();
+
+    public static UUID nextUuid() {
+        long now = System.currentTimeMillis() << 12;
+        // A counter overflow borrows the next millisecond rather than going back
+        long timestampAndCounter = LAST_TIMESTAMP_AND_COUNTER.updateAndGet(
+                last -> Math.max(last + 1, now));
+
+        long mostSigBits = ((timestampAndCounter >>> 12) << 16)
+                | 0x7000L
+                | (timestampAndCounter & 0xFFFL);
+        long leastSigBits = (RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL)
+                | 0x8000000000000000L;
+
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner,
+            Object currentValue, EventType eventType) {
+        return nextUuid();
+    }
+}
@@ -0,0 +1,15 @@
+package com.pm.doctorservice.repository;
+
+import jakarta.persistence.Tuple;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface DoctorProjectionRepository {
+
+    /**
+     * Selects only {@code attributes} (each aliased by its attribute name), optionally
+     * filtered by {@code filterAttribute = filterValue}, without loading entities.
+     */
+    List<Tuple> findTuples(Collection<String> attributes, String filterAttribute, Object filterValue);
+}
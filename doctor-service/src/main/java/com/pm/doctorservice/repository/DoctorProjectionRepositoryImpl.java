@@ -0,0 +1,41 @@
+package com.pm.doctorservice.repository;
+
+import com.pm.doctorservice.model.Doctor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+class DoctorProjectionRepositoryImpl implements DoctorProjectionRepository {
+
+    private final EntityManager entityManager;
+
+    DoctorProjectionRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<Tuple> findTuples(Collection<String> attributes, String filterAttribute, Object filterValue) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Doctor> root = query.from(Doctor.class);
+
+        List<Selection<?>> selections = new ArrayList<>();
+        for (String attribute : attributes) {
+            selections.add(root.get(attribute).alias(attribute));
+        }
+        query.multiselect(selections);
+
+        if (filterAttribute != null) {
+            query.where(cb.equal(root.get(filterAttribute), filterValue));
+        }
+
+        return entityManager.createQuery(query).getResultList();
+    }
+}
@@ -8,14 +8,20 @@ import com.pm.doctorservice.repository.AppointmentRepository;
 import com.pm.doctorservice.repository.DoctorRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -23,6 +29,9 @@ import java.util.stream.Collectors;
 public class AppointmentService {
 
     private static final Logger log = LoggerFactory.getLogger(AppointmentService.class);
+    private static final String PATIENT_SERVICE_URL = "http://java-spring-microservices-patient-service-1:4000/patients";
+    // Stays under patient-service's patient.batch.max-ids
+    private static final int PATIENT_BATCH_SIZE = 500;
     private final AppointmentRepository appointmentRepository;
     private final DoctorRepository doctorRepository;
     private final RestTemplate restTemplate;
@@ -47,7 +56,7 @@ public class AppointmentService {
                 });
 
         // Call Patient Service to verify patient exists
-        String patientServiceUrl = "http://java-spring-microservices-patient-service-1:4000/patients/" + requestDTO.getPatientId();
+        String patientServiceUrl = PATIENT_SERVICE_URL + "/" + requestDTO.getPatientId();
         log.info("Calling Patient Service: {}", patientServiceUrl);
         
         Map<String, Object> patientData;
@@ -80,37 +89,39 @@ public class AppointmentService {
 
     public List<AppointmentResponseDTO> getAppointmentsByDoctor(UUID doctorId) {
         List<Appointment> appointments = appointmentRepository.findByDoctorId(doctorId);
+        String doctorName = doctorRepository.findById(doctorId)
+                .map(Doctor::getName)
+                .orElse("Unknown");
+        Map<UUID, String> patientNames = getPatientNames(appointments.stream()
+                .map(Appointment::getPatientId)
+                .collect(Collectors.toSet()));
+
         return appointments.stream()
-                .map(appointment -> {
-                    Doctor doctor = doctorRepository.findById(appointment.getDoctorId()).orElse(null);
-                    String doctorName = doctor != null ? doctor.getName() : "Unknown";
-                    
-                    // Get patient name from Patient Service
-                    String patientName = getPatientName(appointment.getPatientId());
-                    
-                    return mapToResponseDTO(appointment, patientName, doctorName);
-                })
+                .map(appointment -> mapToResponseDTO(appointment,
+                        patientNames.getOrDefault(appointment.getPatientId(), "Unknown Patient"),
+                        doctorName))
                 .collect(Collectors.toList());
     }
 
     public List<AppointmentResponseDTO> getAppointmentsByPatient(UUID patientId) {
         List<Appointment> appointments = appointmentRepository.findByPatientId(patientId);
+        Map<UUID, String> doctorNames = doctorRepository.findAllById(appointments.stream()
+                        .map(Appointment::getDoctorId)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Doctor::getId, Doctor::getName));
+        String patientName = getPatientNames(Set.of(patientId))
+                .getOrDefault(patientId, "Unknown Patient");
+
         return appointments.stream()
-                .map(appointment -> {
-                    Doctor doctor = doctorRepository.findById(appointment.getDoctorId()).orElse(null);
-                    String doctorName = doctor != null ? doctor.getName() : "Unknown";
-                    
-                    // Get patient name from Patient Service
-                    String patientName = getPatientName(appointment.getPatientId());
-                    
-                    return mapToResponseDTO(appointment, patientName, doctorName);
-                })
+                .map(appointment -> mapToResponseDTO(appointment, patientName,
+                        doctorNames.getOrDefault(appointment.getDoctorId(), "Unknown")))
                 .collect(Collectors.toList());
     }
 
     public Object getPatientDetailsWithAppointments(UUID patientId) {
         // Get patient details from Patient Service
-        String patientServiceUrl = "http://java-spring-microservices-patient-service-1:4000/patients/" + patientId;
+        String patientServiceUrl = PATIENT_SERVICE_URL + "/" + patientId;
         Map<String, Object> patientData;
         try {
             patientData = restTemplate.getForObject(patientServiceUrl, Map.class);
@@ -133,14 +144,32 @@ public class AppointmentService {
         return result;
     }
 
-    private String getPatientName(UUID patientId) {
-        try {
-            String patientServiceUrl = "http://java-spring-microservices-patient-service-1:4000/patients/" + patientId;
-            Map<String, Object> patientData = restTemplate.getForObject(patientServiceUrl, Map.class);
-            return patientData != null ? (String) patientData.get("name") : "Unknown Patient";
-        } catch (Exception e) {
-            return "Unknown Patient";
+    /**
+     * Resolves patient names with POST /patients/batch, one call per
+     * PATIENT_BATCH_SIZE IDs. Patients that cannot be resolved are left out.
+     */
+    private Map<UUID, String> getPatientNames(Collection<UUID> patientIds) {
+        Map<UUID, String> names = new HashMap<>();
+        List<UUID> ids = new ArrayList<>(patientIds);
+
+        for (int from = 0; from < ids.size(); from += PATIENT_BATCH_SIZE) {
+            List<UUID> chunk = ids.subList(from, Math.min(from + PATIENT_BATCH_SIZE, ids.size()));
+            try {
+                Map<String, Map<String, Object>> patients = restTemplate.exchange(
+                        PATIENT_SERVICE_URL + "/batch?format=map",
+                        HttpMethod.POST,
+                        new HttpEntity<>(Map.of("ids", chunk)),
+                        new ParameterizedTypeReference<Map<String, Map<String, Object>>>() {})
+                        .getBody();
+                if (patients != null) {
+                    patients.forEach((id, patient) ->
+                            names.put(UUID.fromString(id), (String) patient.get("name")));
+                }
+            } catch (Exception e) {
+                log.warn("Failed to resolve {} patients from Patient Service: {}", chunk.size(), e.getMessage());
+            }
         }
+        return names;
     }
 
     private AppointmentResponseDTO mapToResponseDTO(Appointment appointment, String patientName, String doctorName) {
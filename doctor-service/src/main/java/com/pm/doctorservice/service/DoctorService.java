@@ -1,27 +1,40 @@
 package com.pm.doctorservice.service;
 
+import com.pm.doctorservice.config.ReplicaRoutingDataSource;
 import com.pm.doctorservice.dto.DoctorRequestDTO;
 import com.pm.doctorservice.dto.DoctorResponseDTO;
 import com.pm.doctorservice.model.Doctor;
 import com.pm.doctorservice.repository.DoctorRepository;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
 public class DoctorService {
 
+    // Selectable with ?fields=; each is the Doctor attribute of the same name
+    private static final List<String> FIELDS = List.of("id", "name", "email", "specialization",
+            "phoneNumber", "licenseNumber", "experienceYears", "joinedDate", "department", "address");
+
     private final DoctorRepository doctorRepository;
     private final KafkaTemplate<String, String> kafkaTemplate;
+    private final DoctorTableVersion doctorTableVersion;
 
-    public DoctorService(DoctorRepository doctorRepository, KafkaTemplate<String, String> kafkaTemplate) {
+    public DoctorService(DoctorRepository doctorRepository, KafkaTemplate<String, String> kafkaTemplate,
+                         DoctorTableVersion doctorTableVersion) {
         this.doctorRepository = doctorRepository;
         this.kafkaTemplate = kafkaTemplate;
+        this.doctorTableVersion = doctorTableVersion;
     }
 
     public DoctorResponseDTO createDoctor(DoctorRequestDTO requestDTO) {
@@ -46,6 +59,7 @@ public class DoctorService {
         );
 
         Doctor savedDoctor = doctorRepository.save(doctor);
+        doctorTableVersion.bumpAfterCommit();
         
         // Send Kafka event
         kafkaTemplate.send("doctor-events", "Doctor created: " + savedDoctor.getId());
@@ -53,29 +67,61 @@ public class DoctorService {
         return mapToResponseDTO(savedDoctor);
     }
 
+    // Every read is served under the DoctorTableVersion ETag, which tracks primary
+    // commits, so reads go to the primary
+    @Transactional(readOnly = true)
     public List<DoctorResponseDTO> getAllDoctors() {
-        return doctorRepository.findAll().stream()
+        return ReplicaRoutingDataSource.onPrimary(doctorRepository::findAll).stream()
                 .map(this::mapToResponseDTO)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public Optional<DoctorResponseDTO> getDoctorById(UUID id) {
-        return doctorRepository.findById(id)
+        return ReplicaRoutingDataSource.onPrimary(() -> doctorRepository.findById(id))
                 .map(this::mapToResponseDTO);
     }
 
+    @Transactional(readOnly = true)
     public List<DoctorResponseDTO> getDoctorsBySpecialization(String specialization) {
-        return doctorRepository.findBySpecialization(specialization).stream()
+        return ReplicaRoutingDataSource.onPrimary(
+                        () -> doctorRepository.findBySpecialization(specialization)).stream()
                 .map(this::mapToResponseDTO)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<DoctorResponseDTO> getDoctorsByDepartment(String department) {
-        return doctorRepository.findByDepartment(department).stream()
+        return ReplicaRoutingDataSource.onPrimary(
+                        () -> doctorRepository.findByDepartment(department)).stream()
                 .map(this::mapToResponseDTO)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * The ?fields= variants select only the requested columns and return one map per doctor
+     * keyed by field name. Unknown or missing field names throw IllegalArgumentException.
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getAllDoctors(String fields) {
+        return findDoctorFields(fields, null, null);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<Map<String, Object>> getDoctorById(UUID id, String fields) {
+        return findDoctorFields(fields, "id", id).stream().findFirst();
+    }
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getDoctorsBySpecialization(String specialization, String fields) {
+        return findDoctorFields(fields, "specialization", specialization);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getDoctorsByDepartment(String department, String fields) {
+        return findDoctorFields(fields, "department", department);
+    }
+
     public DoctorResponseDTO updateDoctor(UUID id, DoctorRequestDTO requestDTO) {
         Doctor doctor = doctorRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Doctor not found"));
@@ -88,6 +134,7 @@ public class DoctorService {
         doctor.setAddress(requestDTO.getAddress());
 
         Doctor updatedDoctor = doctorRepository.save(doctor);
+        doctorTableVersion.bumpAfterCommit();
         
         // Send Kafka event
         kafkaTemplate.send("doctor-events", "Doctor updated: " + updatedDoctor.getId());
@@ -100,6 +147,7 @@ public class DoctorService {
             throw new RuntimeException("Doctor not found");
         }
         doctorRepository.deleteById(id);
+        doctorTableVersion.bumpAfterCommit();
         
         // Send Kafka event
         kafkaTemplate.send("doctor-events", "Doctor deleted: " + id);
@@ -119,4 +167,28 @@ public class DoctorService {
             doctor.getAddress()
         );
     }
-}
\ No newline at end of file
+
+    private List<Map<String, Object>> findDoctorFields(String fields, String filterAttribute, Object filterValue) {
+        Set<String> attributes = parseFields(fields);
+        return ReplicaRoutingDataSource.onPrimary(
+                        () -> doctorRepository.findTuples(attributes, filterAttribute, filterValue)).stream()
+                .map(tuple -> {
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    attributes.forEach(attribute -> row.put(attribute, tuple.get(attribute)));
+                    return row;
+                })
+                .collect(Collectors.toList());
+    }
+
+    private static Set<String> parseFields(String fields) {
+        Set<String> attributes = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (!FIELDS.contains(name)) {
+                throw new IllegalArgumentException("Unsupported field: " + name);
+            }
+            attributes.add(name);
+        }
+        return attributes;
+    }
+}
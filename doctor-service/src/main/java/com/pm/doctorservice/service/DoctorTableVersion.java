@@ -0,0 +1,36 @@
+package com.pm.doctorservice.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory version of the doctors table, bumped after every committed doctor
+ * write, used as the strong ETag for doctor reads. The startup time is part of
+ * the tag so a restart never revalidates an older response.
+ */
+@Component
+public class DoctorTableVersion {
+
+    private final long epoch = System.currentTimeMillis();
+    private final AtomicLong version = new AtomicLong();
+
+    public String etag() {
+        return "\"doctors-" + epoch + "-" + version.get() + "\"";
+    }
+
+    public void bumpAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            version.incrementAndGet();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                version.incrementAndGet();
+            }
+        });
+    }
+}
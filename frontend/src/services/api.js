@@ -22,7 +22,7 @@ export const authAPI = {
 
 // Patient Service APIs  
 export const patientAPI = {
-  getAll: () => api.get('/api/patients'),
+  getAll: () => api.get('/api/patients', { params: { unpaged: true } }),
   getById: (id) => api.get(`/api/patients/${id}`),
   create: (patient) => api.post('/api/patients', patient),
   update: (id, patient) => api.put(`/api/patients/${id}`, patient),
@@ -51,7 +51,7 @@ export const appointmentAPI = {
 export const directAPI = {
   // Direct calls to services (bypass API Gateway)
   patients: {
-    getAll: () => axios.get('/patients'),
+    getAll: () => axios.get('/patients', { params: { unpaged: true } }),
     create: (patient) => axios.post('/patients', patient),
   },
   doctors: {
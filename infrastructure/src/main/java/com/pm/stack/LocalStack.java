@@ -91,7 +91,7 @@ public class LocalStack extends Stack {
 
     FargateService patientService = createFargateService("PatientService",
         "patient-service",
-        List.of(4000),
+        List.of(4000,9002),
         patientServiceDb,
         Map.of(
             "BILLING_SERVICE_ADDRESS", "host.docker.internal",
@@ -0,0 +1,183 @@
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.restassured.RestAssured;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * Hammers appointment-service with concurrent bookings for a handful of doctors,
+ * deliberately aimed at overlapping start times (every 10 minutes against a
+ * 30-minute slot), then checks that no doctor ended up double-booked:
+ *
+ * <pre>
+ * mvn test -Dtest=AppointmentBookingContentionBenchmark -Dbenchmark=true \
+ *     -Dbenchmark.concurrency=200 -Dbenchmark.doctors=5
+ * </pre>
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class AppointmentBookingContentionBenchmark {
+
+  private static final String PATIENT_SERVICE = System.getProperty(
+      "benchmark.patient-service", "http://localhost:4000");
+  private static final int CONCURRENCY = Integer.getInteger(
+      "benchmark.concurrency", 200);
+  private static final int DOCTORS = Integer.getInteger("benchmark.doctors", 5);
+  private static final int CANDIDATE_STARTS = Integer.getInteger(
+      "benchmark.candidate-starts", 36);
+  private static final int REQUESTS_PER_WORKER = Integer.getInteger(
+      "benchmark.requests-per-worker", 5);
+  private static final Duration SLOT = Duration.ofMinutes(30);
+
+  @BeforeAll
+  static void setUp() {
+    RestAssured.baseURI = System.getProperty("benchmark.base-uri",
+        "http://localhost:4007");
+  }
+
+  @Test
+  public void concurrentBookingsNeverOverlap() throws Exception {
+    String patientId = given()
+        .baseUri(PATIENT_SERVICE)
+        .contentType("application/json")
+        .body("""
+            {
+              "name": "Booking Benchmark",
+              "email": "booking-%s@test.com",
+              "address": "1 Load Street",
+              "dateOfBirth": "1990-01-01",
+              "registeredDate": "%s"
+            }
+            """.formatted(UUID.randomUUID(), LocalDate.now()))
+        .when()
+        .post("/patients")
+        .then()
+        .statusCode(200)
+        .extract()
+        .jsonPath()
+        .get("id");
+
+    // Unknown doctor ids fall back to the demo doctor, so fresh ones give a clean schedule
+    List<String> doctorIds = new ArrayList<>();
+    for (int i = 0; i < DOCTORS; i++) {
+      doctorIds.add(UUID.randomUUID().toString());
+    }
+    LocalDateTime firstStart = LocalDateTime.now().plusDays(2)
+        .truncatedTo(ChronoUnit.HOURS);
+
+    HttpClient client = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .executor(Executors.newVirtualThreadPerTaskExecutor())
+        .build();
+
+    LongAdder booked = new LongAdder();
+    LongAdder rejected = new LongAdder();
+    LongAdder errors = new LongAdder();
+    List<Future<long[]>> workers = new ArrayList<>();
+    long started = System.nanoTime();
+
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int i = 0; i < CONCURRENCY; i++) {
+        workers.add(executor.submit(() -> {
+          long[] latencies = new long[REQUESTS_PER_WORKER];
+          ThreadLocalRandom random = ThreadLocalRandom.current();
+          for (int n = 0; n < REQUESTS_PER_WORKER; n++) {
+            String doctorId = doctorIds.get(random.nextInt(doctorIds.size()));
+            LocalDateTime start = firstStart.plusMinutes(
+                10L * random.nextInt(CANDIDATE_STARTS));
+            HttpRequest request = HttpRequest.newBuilder(
+                    URI.create(RestAssured.baseURI + "/appointments"))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofString("""
+                    {
+                      "patientId": "%s",
+                      "doctorId": "%s",
+                      "appointmentDateTime": "%s",
+                      "type": "CONSULTATION"
+                    }
+                    """.formatted(patientId, doctorId, start)))
+                .build();
+
+            long requestStarted = System.nanoTime();
+            try {
+              HttpResponse<Void> response = client.send(request,
+                  HttpResponse.BodyHandlers.discarding());
+              if (response.statusCode() == 200) {
+                booked.increment();
+              } else if (response.statusCode() == 400) {
+                rejected.increment();
+              } else {
+                errors.increment();
+              }
+            } catch (Exception e) {
+              errors.increment();
+            }
+            latencies[n] = System.nanoTime() - requestStarted;
+          }
+          return latencies;
+        }));
+      }
+    }
+    double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+
+    long[] all = new long[0];
+    for (Future<long[]> worker : workers) {
+      long[] latencies = worker.get();
+      int offset = all.length;
+      all = Arrays.copyOf(all, offset + latencies.length);
+      System.arraycopy(latencies, 0, all, offset, latencies.length);
+    }
+    Arrays.sort(all);
+    int p99 = Math.max((int) Math.ceil(0.99 * all.length) - 1, 0);
+
+    System.out.printf(
+        "concurrency=%d doctors=%d booked=%d rejected=%d errors=%d "
+            + "bookings=%.1f/s p99=%.1fms%n",
+        CONCURRENCY, DOCTORS, booked.sum(), rejected.sum(), errors.sum(),
+        booked.sum() / seconds, all[p99] / 1_000_000.0);
+
+    long persisted = 0;
+    for (String doctorId : doctorIds) {
+      List<String> starts = given()
+          .when()
+          .get("/appointments/doctor/" + doctorId)
+          .then()
+          .statusCode(200)
+          .extract()
+          .jsonPath()
+          .getList("findAll { it.status != 'CANCELLED' }.appointmentDateTime");
+      List<LocalDateTime> sorted = starts.stream()
+          .map(LocalDateTime::parse)
+          .sorted()
+          .toList();
+      for (int i = 1; i < sorted.size(); i++) {
+        assertTrue(!sorted.get(i).isBefore(sorted.get(i - 1).plus(SLOT)),
+            "doctor " + doctorId + " double-booked at " + sorted.get(i - 1)
+                + " and " + sorted.get(i));
+      }
+      persisted += sorted.size();
+    }
+    assertEquals(booked.sum(), persisted,
+        "every accepted booking should be persisted exactly once");
+  }
+}
@@ -0,0 +1,153 @@
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.restassured.RestAssured;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * Closed-loop load test through the gateway: {@code benchmark.concurrency}
+ * clients each send the next request as soon as the previous one returns.
+ * Run it once with the target service on platform threads and once with
+ * SPRING_THREADS_VIRTUAL_ENABLED=true, then compare the printed lines:
+ *
+ * <pre>
+ * mvn test -Dtest=VirtualThreadThroughputBenchmark -Dbenchmark=true \
+ *     -Dbenchmark.concurrency=1000 -Dbenchmark.seconds=60
+ * </pre>
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class VirtualThreadThroughputBenchmark {
+
+  private static final String PATH = System.getProperty("benchmark.path",
+      "/api/patients?limit=50");
+  private static final int CONCURRENCY = Integer.getInteger(
+      "benchmark.concurrency", 1000);
+  private static final int SECONDS = Integer.getInteger("benchmark.seconds", 30);
+  private static final int WARMUP_SECONDS = Integer.getInteger(
+      "benchmark.warmup-seconds", 10);
+
+  @BeforeAll
+  static void setUp() {
+    RestAssured.baseURI = System.getProperty("benchmark.base-uri",
+        "http://localhost:4004");
+  }
+
+  @Test
+  public void measureThroughputAtHighConcurrency() throws Exception {
+    String loginPayload = """
+          {
+            "email": "testuser@test.com",
+            "password": "password123"
+          }
+        """;
+
+    String token = given()
+        .contentType("application/json")
+        .body(loginPayload)
+        .when()
+        .post("/auth/login")
+        .then()
+        .statusCode(200)
+        .extract()
+        .jsonPath()
+        .get("token");
+
+    HttpClient client = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .executor(Executors.newVirtualThreadPerTaskExecutor())
+        .build();
+    HttpRequest request = HttpRequest.newBuilder(
+            URI.create(RestAssured.baseURI + PATH))
+        .header("Authorization", "Bearer " + token)
+        .timeout(Duration.ofSeconds(30))
+        .build();
+
+    run(client, request, WARMUP_SECONDS);
+    Result result = run(client, request, SECONDS);
+
+    System.out.printf(
+        "GET %s concurrency=%d requests=%d errors=%d throughput=%.0f req/s "
+            + "p50=%.1fms p99=%.1fms max=%.1fms%n",
+        PATH, CONCURRENCY, result.latenciesNanos.length, result.errors,
+        result.latenciesNanos.length / (double) SECONDS,
+        result.percentileMillis(0.50), result.percentileMillis(0.99),
+        result.percentileMillis(1.0));
+    assertTrue(result.latenciesNanos.length > 0, "no request succeeded");
+  }
+
+  private static Result run(HttpClient client, HttpRequest request,
+      int seconds) throws Exception {
+    long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+    LongAdder errors = new LongAdder();
+    List<Future<long[]>> workers = new ArrayList<>();
+
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int i = 0; i < CONCURRENCY; i++) {
+        workers.add(executor.submit(() -> {
+          long[] latencies = new long[1024];
+          int count = 0;
+          while (System.nanoTime() < deadline) {
+            long started = System.nanoTime();
+            try {
+              HttpResponse<Void> response = client.send(request,
+                  HttpResponse.BodyHandlers.discarding());
+              if (response.statusCode() != 200) {
+                errors.increment();
+                continue;
+              }
+            } catch (Exception e) {
+              errors.increment();
+              continue;
+            }
+            if (count == latencies.length) {
+              latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = System.nanoTime() - started;
+          }
+          return Arrays.copyOf(latencies, count);
+        }));
+      }
+    }
+
+    List<long[]> perWorker = new ArrayList<>();
+    int total = 0;
+    for (Future<long[]> worker : workers) {
+      long[] latencies = worker.get();
+      perWorker.add(latencies);
+      total += latencies.length;
+    }
+    long[] all = new long[total];
+    int offset = 0;
+    for (long[] latencies : perWorker) {
+      System.arraycopy(latencies, 0, all, offset, latencies.length);
+      offset += latencies.length;
+    }
+    Arrays.sort(all);
+    return new Result(all, errors.sum());
+  }
+
+  private record Result(long[] latenciesNanos, long errors) {
+
+    double percentileMillis(double percentile) {
+      if (latenciesNanos.length == 0) {
+        return 0;
+      }
+      int index = (int) Math.ceil(percentile * latenciesNanos.length) - 1;
+      return latenciesNanos[Math.max(index, 0)] / 1_000_000.0;
+    }
+  }
+}
@@ -2,11 +2,13 @@ package com.pm.notificationservice.kafka;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.protobuf.InvalidProtocolBufferException;
 import com.pm.notificationservice.service.NotificationService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
+import patient.events.PatientEvent;
 
 @Component
 public class PatientEventListener {
@@ -21,25 +23,21 @@ public class PatientEventListener {
         this.objectMapper = new ObjectMapper();
     }
 
-    @KafkaListener(topics = "patient-events", groupId = "notification-service")
-    public void handlePatientEvent(String message) {
+    @KafkaListener(topics = "patient", groupId = "notification-service",
+            properties = "value.deserializer=org.apache.kafka.common.serialization.ByteArrayDeserializer")
+    public void handlePatientEvent(byte[] message) {
         try {
-            log.info("📨 Received patient event: {}", message);
-            
-            JsonNode eventData = objectMapper.readTree(message);
-            String eventType = eventData.get("eventType").asText();
-            
-            if ("PATIENT_CREATED".equals(eventType)) {
-                JsonNode patientData = eventData.get("data");
-                String patientId = patientData.get("id").asText();
-                String patientName = patientData.get("name").asText();
-                String patientEmail = patientData.get("email").asText();
-                
+            PatientEvent event = PatientEvent.parseFrom(message);
+            log.info("📨 Received patient event: {} for patient {}", event.getEventType(), event.getPatientId());
+
+            if ("PATIENT_CREATED".equals(event.getEventType())) {
                 // Send welcome email
-                notificationService.sendWelcomeEmail(patientEmail, patientName, patientId);
-                log.info("✅ Welcome email sent to patient: {}", patientName);
+                notificationService.sendWelcomeEmail(event.getEmail(), event.getName(), event.getPatientId());
+                log.info("✅ Welcome email sent to patient: {}", event.getName());
             }
-            
+
+        } catch (InvalidProtocolBufferException e) {
+            log.error("❌ Error deserializing patient event: {}", e.getMessage());
         } catch (Exception e) {
             log.error("❌ Error processing patient event: {}", e.getMessage());
         }
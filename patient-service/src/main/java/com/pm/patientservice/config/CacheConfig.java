@@ -1,9 +1,35 @@
 package com.pm.patientservice.config;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
 @EnableCaching
 public class CacheConfig {
-}
\ No newline at end of file
+
+  public static final String PATIENTS_CACHE = "patients";
+
+  /**
+   * Bounded per-patient cache keyed by patient ID. Stats are recorded so the
+   * actuator binds cache.gets/cache.puts/cache.evictions for this cache.
+   */
+  @Bean
+  public CacheManager cacheManager(
+      @Value("${patient.cache.max-size:10000}") long maxSize,
+      @Value("${patient.cache.expire-after-write:10m}") Duration expireAfterWrite) {
+
+    CaffeineCacheManager cacheManager = new CaffeineCacheManager(PATIENTS_CACHE);
+    cacheManager.setCaffeine(Caffeine.newBuilder()
+        .maximumSize(maxSize)
+        .expireAfterWrite(expireAfterWrite)
+        .recordStats());
+    cacheManager.setAllowNullValues(false);
+    return cacheManager;
+  }
+}
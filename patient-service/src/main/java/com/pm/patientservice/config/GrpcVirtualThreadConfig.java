@@ -0,0 +1,24 @@
+package com.pm.patientservice.config;
+
+import java.util.concurrent.Executors;
+import net.devh.boot.grpc.server.serverfactory.GrpcServerConfigurer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * spring.threads.virtual.enabled covers Tomcat, @Async, @Scheduled and Kafka
+ * but not the PatientQuery gRPC server, whose handlers block on JDBC too.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class GrpcVirtualThreadConfig {
+
+  @Bean
+  public GrpcServerConfigurer virtualThreadGrpcServerConfigurer() {
+    // Not exposed as an Executor bean: that would replace Boot's
+    // applicationTaskExecutor
+    return serverBuilder -> serverBuilder.executor(
+        Executors.newVirtualThreadPerTaskExecutor());
+  }
+}
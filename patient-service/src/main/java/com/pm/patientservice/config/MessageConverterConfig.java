@@ -0,0 +1,36 @@
+package com.pm.patientservice.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import java.util.List;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Adds binary response formats behind JSON. They are appended after the
+ * default converters, so requests without an explicit {@code Accept} still
+ * get JSON; callers opt in with {@code application/x-protobuf} or
+ * {@code application/cbor}. Error bodies are JSON only, so protobuf callers
+ * should also accept {@code application/json;q=0.5}.
+ */
+@Configuration
+public class MessageConverterConfig implements WebMvcConfigurer {
+
+  private final Jackson2ObjectMapperBuilder objectMapperBuilder;
+
+  public MessageConverterConfig(Jackson2ObjectMapperBuilder objectMapperBuilder) {
+    this.objectMapperBuilder = objectMapperBuilder;
+  }
+
+  @Override
+  public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+    converters.add(new PatientProtobufHttpMessageConverter());
+    if (converters.stream().noneMatch(
+        MappingJackson2CborHttpMessageConverter.class::isInstance)) {
+      converters.add(new MappingJackson2CborHttpMessageConverter(
+          objectMapperBuilder.factory(new CBORFactory()).build()));
+    }
+  }
+}
@@ -0,0 +1,89 @@
+package com.pm.patientservice.config;
+
+import com.google.protobuf.Message;
+import com.pm.patientservice.dto.PatientPageResponseDTO;
+import com.pm.patientservice.dto.PatientResponseDTO;
+import com.pm.patientservice.mapper.PatientMapper;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.protobuf.ProtobufHttpMessageConverter;
+
+/**
+ * Writes patient response DTOs as {@code patient.rest} protobuf messages.
+ * Write-only, and limited to {@link PatientResponseDTO}, lists of it and
+ * {@link PatientPageResponseDTO}; anything else falls through to JSON.
+ */
+public class PatientProtobufHttpMessageConverter
+    extends AbstractGenericHttpMessageConverter<Object> {
+
+  public PatientProtobufHttpMessageConverter() {
+    super(ProtobufHttpMessageConverter.PROTOBUF);
+  }
+
+  @Override
+  protected boolean supports(Class<?> clazz) {
+    return PatientResponseDTO.class == clazz
+        || PatientPageResponseDTO.class == clazz;
+  }
+
+  @Override
+  public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+    return false;
+  }
+
+  @Override
+  public boolean canRead(Class<?> clazz, MediaType mediaType) {
+    return false;
+  }
+
+  @Override
+  public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+    if (!canWrite(mediaType)) {
+      return false;
+    }
+    ResolvableType resolved = type != null ? ResolvableType.forType(type)
+        : ResolvableType.forClass(clazz);
+    if (List.class.isAssignableFrom(resolved.toClass())) {
+      return resolved.asCollection().getGeneric(0).toClass()
+          == PatientResponseDTO.class;
+    }
+    return supports(resolved.toClass());
+  }
+
+  @Override
+  protected void writeInternal(Object body, Type type,
+      HttpOutputMessage outputMessage) throws IOException {
+    toMessage(body).writeTo(outputMessage.getBody());
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Message toMessage(Object body) {
+    if (body instanceof PatientResponseDTO patient) {
+      return PatientMapper.toProto(patient);
+    }
+    if (body instanceof PatientPageResponseDTO page) {
+      return PatientMapper.toProto(page);
+    }
+    return PatientMapper.toProto((List<PatientResponseDTO>) body);
+  }
+
+  @Override
+  protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+    throw new HttpMessageNotReadableException(
+        "Patient protobuf bodies are response-only", inputMessage);
+  }
+
+  @Override
+  public Object read(Type type, Class<?> contextClass,
+      HttpInputMessage inputMessage) {
+    throw new HttpMessageNotReadableException(
+        "Patient protobuf bodies are response-only", inputMessage);
+  }
+}
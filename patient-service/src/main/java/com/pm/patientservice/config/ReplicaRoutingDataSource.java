@@ -0,0 +1,138 @@
+package com.pm.patientservice.config;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends connections for read-only transactions to the replica and everything
+ * else to the primary. A background check runs {@code lagQuery} on the replica
+ * and falls back to the primary while the reported lag (in seconds) exceeds
+ * {@code maxLag} or the replica cannot be reached.
+ *
+ * <p>Must sit behind a {@code LazyConnectionDataSourceProxy}: the transaction
+ * manager asks for a connection before the read-only flag is bound, so the
+ * route has to be chosen at the first statement instead.
+ *
+ * <p>Reads whose result outlives the request (cache fills, ETag-tagged
+ * responses) go through {@link #onPrimary} so they never see a state older
+ * than the write that bumped the tag or evicted the entry.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource
+    implements DisposableBean {
+
+  enum Route {
+    PRIMARY, REPLICA
+  }
+
+  private static final Logger log = LoggerFactory.getLogger(
+      ReplicaRoutingDataSource.class);
+  private static final ThreadLocal<Boolean> PRIMARY_ONLY = new ThreadLocal<>();
+
+  private final DataSource primary;
+  private final DataSource replica;
+  private final String lagQuery;
+  private final Duration maxLag;
+  private final Duration checkInterval;
+  private final ScheduledExecutorService scheduler;
+  private volatile boolean replicaUsable;
+
+  public ReplicaRoutingDataSource(DataSource primary, DataSource replica,
+      String lagQuery, Duration maxLag, Duration checkInterval) {
+    this.primary = primary;
+    this.replica = replica;
+    this.lagQuery = lagQuery;
+    this.maxLag = maxLag;
+    this.checkInterval = checkInterval;
+    this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "replica-lag-check");
+      thread.setDaemon(true);
+      return thread;
+    });
+
+    setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+    setDefaultTargetDataSource(primary);
+  }
+
+  @Override
+  public void afterPropertiesSet() {
+    super.afterPropertiesSet();
+    // The replica is only used once a check has passed
+    scheduler.scheduleWithFixedDelay(this::checkReplicaLag, 0,
+        checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Runs {@code read} with its connections routed to the primary, read-only
+   * or not. Has to be entered before the transaction's first statement.
+   */
+  public static <T> T onPrimary(Supplier<T> read) {
+    if (PRIMARY_ONLY.get() != null) {
+      return read.get();
+    }
+    PRIMARY_ONLY.set(Boolean.TRUE);
+    try {
+      return read.get();
+    } finally {
+      PRIMARY_ONLY.remove();
+    }
+  }
+
+  @Override
+  protected Object determineCurrentLookupKey() {
+    return replicaUsable && PRIMARY_ONLY.get() == null
+        && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+        ? Route.REPLICA : Route.PRIMARY;
+  }
+
+  public boolean isReplicaUsable() {
+    return replicaUsable;
+  }
+
+  void checkReplicaLag() {
+    boolean usable;
+    String reason;
+    try (Connection connection = replica.getConnection();
+        Statement statement = connection.createStatement();
+        ResultSet resultSet = statement.executeQuery(lagQuery)) {
+      double lagSeconds = resultSet.next() ? resultSet.getDouble(1) : 0;
+      usable = lagSeconds * 1000 <= maxLag.toMillis();
+      reason = "lag " + lagSeconds + "s, threshold " + maxLag;
+    } catch (SQLException | RuntimeException e) {
+      usable = false;
+      reason = e.getMessage();
+    }
+
+    if (usable != replicaUsable) {
+      if (usable) {
+        log.info("Routing read-only transactions to the replica ({})", reason);
+      } else {
+        log.warn("Routing read-only transactions to the primary ({})", reason);
+      }
+    }
+    replicaUsable = usable;
+  }
+
+  @Override
+  public void destroy() throws Exception {
+    scheduler.shutdownNow();
+    for (DataSource dataSource : new DataSource[]{primary, replica}) {
+      if (dataSource instanceof AutoCloseable closeable) {
+        closeable.close();
+      }
+    }
+  }
+}
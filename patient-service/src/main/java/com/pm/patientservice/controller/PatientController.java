@@ -1,14 +1,30 @@
 package com.pm.patientservice.controller;
 
+import com.pm.patientservice.dto.BulkPatientImportResponseDTO;
+import com.pm.patientservice.dto.PatientBatchRequestDTO;
+import com.pm.patientservice.dto.PatientChangesResponseDTO;
+import com.pm.patientservice.dto.PatientPageResponseDTO;
 import com.pm.patientservice.dto.PatientRequestDTO;
 import com.pm.patientservice.dto.PatientResponseDTO;
+import com.pm.patientservice.dto.PatientSearchResultDTO;
 import com.pm.patientservice.dto.validators.CreatePatientValidationGroup;
+import com.pm.patientservice.service.PatientBulkImportService;
+import com.pm.patientservice.service.PatientExportService;
 import com.pm.patientservice.service.PatientService;
+import com.pm.patientservice.service.PatientTableVersion;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.groups.Default;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -18,7 +34,10 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/patients")
@@ -26,23 +45,114 @@ import org.springframework.web.bind.annotation.RestController;
 public class PatientController {
 
   private final PatientService patientService;
+  private final PatientExportService patientExportService;
+  private final PatientBulkImportService patientBulkImportService;
+  private final PatientTableVersion patientTableVersion;
 
-  public PatientController(PatientService patientService) {
+  public PatientController(PatientService patientService,
+      PatientExportService patientExportService,
+      PatientBulkImportService patientBulkImportService,
+      PatientTableVersion patientTableVersion) {
     this.patientService = patientService;
+    this.patientExportService = patientExportService;
+    this.patientBulkImportService = patientBulkImportService;
+    this.patientTableVersion = patientTableVersion;
   }
 
   @GetMapping
-  @Operation(summary = "Get Patients")
-  public ResponseEntity<List<PatientResponseDTO>> getPatients() {
-    List<PatientResponseDTO> patients = patientService.getPatients();
-    return ResponseEntity.ok().body(patients);
+  @Operation(summary = "Get Patients (keyset paginated)")
+  public ResponseEntity<PatientPageResponseDTO> getPatients(
+      @RequestParam(required = false) String after,
+      @RequestParam(required = false) Integer limit,
+      @RequestParam(defaultValue = "registeredDate") String sort,
+      @RequestParam(required = false) String name,
+      @RequestParam(required = false)
+      @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate registeredFrom,
+      @RequestParam(required = false)
+      @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate registeredTo,
+      @RequestParam(required = false) String fields,
+      WebRequest webRequest) {
+
+    // Read the version before the data so a concurrent write can only make
+    // the tag older than the body, never newer
+    String etag = patientTableVersion.etag(
+        webRequest.getHeader(HttpHeaders.ACCEPT));
+    if (webRequest.checkNotModified(etag)) {
+      return null;
+    }
+
+    PatientPageResponseDTO page = patientService.getPatients(after, limit, sort,
+        name, registeredFrom, registeredTo, fields);
+    return ResponseEntity.ok().eTag(etag)
+        .varyBy(HttpHeaders.ACCEPT).body(page);
+  }
+
+  @GetMapping(params = "unpaged=true")
+  @Operation(summary = "Get Patients as a single capped list")
+  public ResponseEntity<List<PatientResponseDTO>> getPatientsUnpaged(
+      @RequestParam(required = false) String fields, WebRequest webRequest) {
+    String etag = patientTableVersion.etag(
+        webRequest.getHeader(HttpHeaders.ACCEPT));
+    if (webRequest.checkNotModified(etag)) {
+      return null;
+    }
+
+    PatientPageResponseDTO page = patientService.getPatientsUnpaged(fields);
+
+    ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(etag)
+        .varyBy(HttpHeaders.ACCEPT);
+    if (page.isHasMore()) {
+      response.header("X-Truncated", "true")
+          .header("X-Next-Cursor", page.getNextCursor());
+    }
+    return response.body(page.getPatients());
+  }
+
+  @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  @Operation(summary = "Export all Patients as newline-delimited JSON")
+  public ResponseEntity<StreamingResponseBody> exportPatients() {
+    StreamingResponseBody body = patientExportService::exportPatients;
+
+    return ResponseEntity.ok()
+        .contentType(MediaType.APPLICATION_NDJSON)
+        .header(HttpHeaders.CONTENT_DISPOSITION,
+            "attachment; filename=\"patients.ndjson\"")
+        .body(body);
+  }
+
+  @GetMapping("/search")
+  @Operation(summary = "Search Patients by partial name or email")
+  public ResponseEntity<List<PatientSearchResultDTO>> searchPatients(
+      @RequestParam String q,
+      @RequestParam(required = false) Integer limit) {
+    return ResponseEntity.ok().body(patientService.searchPatients(q, limit));
+  }
+
+  @GetMapping("/changes")
+  @Operation(summary = "Get Patient changes since a change version")
+  public ResponseEntity<PatientChangesResponseDTO> getPatientChanges(
+      @RequestParam(defaultValue = "0") long sinceVersion,
+      @RequestParam(required = false) Integer limit) {
+    PatientChangesResponseDTO changes = patientService.getChanges(sinceVersion,
+        limit);
+    return ResponseEntity.ok().body(changes);
   }
 
   @GetMapping("/{id}")
   @Operation(summary = "Get Patient by ID")
-  public ResponseEntity<PatientResponseDTO> getPatientById(@PathVariable UUID id) {
-    PatientResponseDTO patient = patientService.getPatientById(id);
-    return ResponseEntity.ok().body(patient);
+  public ResponseEntity<PatientResponseDTO> getPatientById(@PathVariable UUID id,
+      @RequestParam(required = false) String fields, WebRequest webRequest) {
+    String etag = patientTableVersion.etag(
+        webRequest.getHeader(HttpHeaders.ACCEPT));
+    if (webRequest.checkNotModified(etag)) {
+      return null;
+    }
+
+    PatientResponseDTO patient = fields == null
+        ? patientService.getPatientById(id)
+        : patientService.getPatientById(id, fields);
+    return ResponseEntity.ok().eTag(etag)
+        .varyBy(HttpHeaders.ACCEPT).body(patient);
   }
 
   @PostMapping
@@ -57,6 +167,39 @@ public class PatientController {
     return ResponseEntity.ok().body(patientResponseDTO);
   }
 
+  @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+  @Operation(summary = "Bulk import Patients from a JSON array")
+  public ResponseEntity<BulkPatientImportResponseDTO> bulkImportPatientsJson(
+      InputStream body) throws IOException {
+
+    return ResponseEntity.ok().body(patientBulkImportService.importJson(body));
+  }
+
+  @PostMapping(value = "/bulk", consumes = "text/csv")
+  @Operation(summary = "Bulk import Patients from a CSV stream")
+  public ResponseEntity<BulkPatientImportResponseDTO> bulkImportPatientsCsv(
+      InputStream body) {
+
+    return ResponseEntity.ok().body(patientBulkImportService.importCsv(body));
+  }
+
+  @PostMapping("/batch")
+  @Operation(summary = "Get Patients by IDs as a list in request order")
+  public ResponseEntity<List<PatientResponseDTO>> getPatientsByIds(
+      @Validated({Default.class}) @RequestBody PatientBatchRequestDTO batchRequestDTO) {
+    Map<String, PatientResponseDTO> patients = patientService.getPatientsByIds(
+        batchRequestDTO.getIds());
+    return ResponseEntity.ok().body(new ArrayList<>(patients.values()));
+  }
+
+  @PostMapping(value = "/batch", params = "format=map")
+  @Operation(summary = "Get Patients by IDs as a map keyed by ID")
+  public ResponseEntity<Map<String, PatientResponseDTO>> getPatientsByIdsAsMap(
+      @Validated({Default.class}) @RequestBody PatientBatchRequestDTO batchRequestDTO) {
+    return ResponseEntity.ok().body(
+        patientService.getPatientsByIds(batchRequestDTO.getIds()));
+  }
+
   @PutMapping("/{id}")
   @Operation(summary = "Update a new Patient")
   public ResponseEntity<PatientResponseDTO> updatePatient(@PathVariable UUID id,
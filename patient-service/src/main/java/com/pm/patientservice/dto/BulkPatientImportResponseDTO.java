@@ -0,0 +1,71 @@
+package com.pm.patientservice.dto;
+
+import java.util.List;
+
+public class BulkPatientImportResponseDTO {
+  private int total;
+  private int created;
+  private int failed;
+  private List<BulkPatientRowResultDTO> results;
+  // Set when reading stopped early; rows after the last result were not imported
+  private boolean truncated;
+  private String truncationReason;
+
+  public BulkPatientImportResponseDTO(int total, int created, int failed,
+      List<BulkPatientRowResultDTO> results, String truncationReason) {
+    this.total = total;
+    this.created = created;
+    this.failed = failed;
+    this.results = results;
+    this.truncated = truncationReason != null;
+    this.truncationReason = truncationReason;
+  }
+
+  public int getTotal() {
+    return total;
+  }
+
+  public void setTotal(int total) {
+    this.total = total;
+  }
+
+  public int getCreated() {
+    return created;
+  }
+
+  public void setCreated(int created) {
+    this.created = created;
+  }
+
+  public int getFailed() {
+    return failed;
+  }
+
+  public void setFailed(int failed) {
+    this.failed = failed;
+  }
+
+  public List<BulkPatientRowResultDTO> getResults() {
+    return results;
+  }
+
+  public void setResults(List<BulkPatientRowResultDTO> results) {
+    this.results = results;
+  }
+
+  public boolean isTruncated() {
+    return truncated;
+  }
+
+  public void setTruncated(boolean truncated) {
+    this.truncated = truncated;
+  }
+
+  public String getTruncationReason() {
+    return truncationReason;
+  }
+
+  public void setTruncationReason(String truncationReason) {
+    this.truncationReason = truncationReason;
+  }
+}
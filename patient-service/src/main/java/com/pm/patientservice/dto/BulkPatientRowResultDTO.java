@@ -0,0 +1,58 @@
+package com.pm.patientservice.dto;
+
+public class BulkPatientRowResultDTO {
+  private int row;
+  private String email;
+  private String status;
+  private String patientId;
+  private String message;
+
+  public BulkPatientRowResultDTO(int row, String email, String status,
+      String patientId, String message) {
+    this.row = row;
+    this.email = email;
+    this.status = status;
+    this.patientId = patientId;
+    this.message = message;
+  }
+
+  public int getRow() {
+    return row;
+  }
+
+  public void setRow(int row) {
+    this.row = row;
+  }
+
+  public String getEmail() {
+    return email;
+  }
+
+  public void setEmail(String email) {
+    this.email = email;
+  }
+
+  public String getStatus() {
+    return status;
+  }
+
+  public void setStatus(String status) {
+    this.status = status;
+  }
+
+  public String getPatientId() {
+    return patientId;
+  }
+
+  public void setPatientId(String patientId) {
+    this.patientId = patientId;
+  }
+
+  public String getMessage() {
+    return message;
+  }
+
+  public void setMessage(String message) {
+    this.message = message;
+  }
+}
@@ -0,0 +1,19 @@
+package com.pm.patientservice.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import java.util.List;
+import java.util.UUID;
+
+public class PatientBatchRequestDTO {
+
+  @NotEmpty(message = "ids must not be empty")
+  private List<UUID> ids;
+
+  public @NotEmpty(message = "ids must not be empty") List<UUID> getIds() {
+    return ids;
+  }
+
+  public void setIds(@NotEmpty(message = "ids must not be empty") List<UUID> ids) {
+    this.ids = ids;
+  }
+}
@@ -0,0 +1,48 @@
+package com.pm.patientservice.dto;
+
+public class PatientChangeDTO {
+  private long version;
+  private String changeType;
+  private String patientId;
+  private PatientResponseDTO patient;
+
+  public PatientChangeDTO(long version, String changeType, String patientId,
+      PatientResponseDTO patient) {
+    this.version = version;
+    this.changeType = changeType;
+    this.patientId = patientId;
+    this.patient = patient;
+  }
+
+  public long getVersion() {
+    return version;
+  }
+
+  public void setVersion(long version) {
+    this.version = version;
+  }
+
+  public String getChangeType() {
+    return changeType;
+  }
+
+  public void setChangeType(String changeType) {
+    this.changeType = changeType;
+  }
+
+  public String getPatientId() {
+    return patientId;
+  }
+
+  public void setPatientId(String patientId) {
+    this.patientId = patientId;
+  }
+
+  public PatientResponseDTO getPatient() {
+    return patient;
+  }
+
+  public void setPatient(PatientResponseDTO patient) {
+    this.patient = patient;
+  }
+}
@@ -0,0 +1,40 @@
+package com.pm.patientservice.dto;
+
+import java.util.List;
+
+public class PatientChangesResponseDTO {
+  private List<PatientChangeDTO> changes;
+  private long nextSinceVersion;
+  private boolean hasMore;
+
+  public PatientChangesResponseDTO(List<PatientChangeDTO> changes,
+      long nextSinceVersion, boolean hasMore) {
+    this.changes = changes;
+    this.nextSinceVersion = nextSinceVersion;
+    this.hasMore = hasMore;
+  }
+
+  public List<PatientChangeDTO> getChanges() {
+    return changes;
+  }
+
+  public void setChanges(List<PatientChangeDTO> changes) {
+    this.changes = changes;
+  }
+
+  public long getNextSinceVersion() {
+    return nextSinceVersion;
+  }
+
+  public void setNextSinceVersion(long nextSinceVersion) {
+    this.nextSinceVersion = nextSinceVersion;
+  }
+
+  public boolean isHasMore() {
+    return hasMore;
+  }
+
+  public void setHasMore(boolean hasMore) {
+    this.hasMore = hasMore;
+  }
+}
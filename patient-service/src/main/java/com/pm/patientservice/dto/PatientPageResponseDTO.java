@@ -0,0 +1,40 @@
+package com.pm.patientservice.dto;
+
+import java.util.List;
+
+public class PatientPageResponseDTO {
+  private List<PatientResponseDTO> patients;
+  private String nextCursor;
+  private boolean hasMore;
+
+  public PatientPageResponseDTO(List<PatientResponseDTO> patients,
+      String nextCursor, boolean hasMore) {
+    this.patients = patients;
+    this.nextCursor = nextCursor;
+    this.hasMore = hasMore;
+  }
+
+  public List<PatientResponseDTO> getPatients() {
+    return patients;
+  }
+
+  public void setPatients(List<PatientResponseDTO> patients) {
+    this.patients = patients;
+  }
+
+  public String getNextCursor() {
+    return nextCursor;
+  }
+
+  public void setNextCursor(String nextCursor) {
+    this.nextCursor = nextCursor;
+  }
+
+  public boolean isHasMore() {
+    return hasMore;
+  }
+
+  public void setHasMore(boolean hasMore) {
+    this.hasMore = hasMore;
+  }
+}
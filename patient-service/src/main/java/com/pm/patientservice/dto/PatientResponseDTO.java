@@ -1,5 +1,10 @@
 package com.pm.patientservice.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// Every patient column is NOT NULL, so nulls only appear for fields left out
+// by ?fields=
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class PatientResponseDTO {
   private String id;
   private String name;
@@ -0,0 +1,37 @@
+package com.pm.patientservice.dto;
+
+public class PatientSearchResultDTO {
+  private String id;
+  private String name;
+  private String email;
+
+  public PatientSearchResultDTO(String id, String name, String email) {
+    this.id = id;
+    this.name = name;
+    this.email = email;
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public void setId(String id) {
+    this.id = id;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  public String getEmail() {
+    return email;
+  }
+
+  public void setEmail(String email) {
+    this.email = email;
+  }
+}
@@ -4,6 +4,7 @@ import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -46,4 +47,44 @@ public class GlobalExceptionHandler {
     errors.put("message", "Patient not found");
     return ResponseEntity.badRequest().body(errors);
   }
+
+  @ExceptionHandler(InvalidPageRequestException.class)
+  public ResponseEntity<Map<String, String>> handleInvalidPageRequestException(
+      InvalidPageRequestException ex) {
+    log.warn("Invalid page request {}", ex.getMessage());
+
+    Map<String, String> errors = new HashMap<>();
+    errors.put("message", ex.getMessage());
+    return ResponseEntity.badRequest().body(errors);
+  }
+
+  @ExceptionHandler(InvalidBulkImportException.class)
+  public ResponseEntity<Map<String, String>> handleInvalidBulkImportException(
+      InvalidBulkImportException ex) {
+    log.warn("Invalid bulk import {}", ex.getMessage());
+
+    Map<String, String> errors = new HashMap<>();
+    errors.put("message", ex.getMessage());
+    return ResponseEntity.badRequest().body(errors);
+  }
+
+  @ExceptionHandler(InvalidBatchRequestException.class)
+  public ResponseEntity<Map<String, String>> handleInvalidBatchRequestException(
+      InvalidBatchRequestException ex) {
+    log.warn("Invalid batch request {}", ex.getMessage());
+
+    Map<String, String> errors = new HashMap<>();
+    errors.put("message", ex.getMessage());
+    return ResponseEntity.badRequest().body(errors);
+  }
+
+  @ExceptionHandler(SearchIndexUnavailableException.class)
+  public ResponseEntity<Map<String, String>> handleSearchIndexUnavailableException(
+      SearchIndexUnavailableException ex) {
+    log.warn("Search unavailable {}", ex.getMessage());
+
+    Map<String, String> errors = new HashMap<>();
+    errors.put("message", ex.getMessage());
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(errors);
+  }
 }
@@ -0,0 +1,8 @@
+package com.pm.patientservice.exception;
+
+public class InvalidBatchRequestException extends RuntimeException {
+
+  public InvalidBatchRequestException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,8 @@
+package com.pm.patientservice.exception;
+
+public class InvalidBulkImportException extends RuntimeException {
+
+  public InvalidBulkImportException(String message) {
+    super(message);
+  }
+}
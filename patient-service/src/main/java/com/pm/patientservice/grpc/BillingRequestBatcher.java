@@ -0,0 +1,125 @@
+package com.pm.patientservice.grpc;
+
+import billing.BillingBatchRequest;
+import billing.BillingBatchResponse;
+import billing.BillingRequest;
+import billing.BillingResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Coalesces concurrent single-account requests into CreateBillingAccounts
+ * calls. A batch is sent when it reaches {@code maxBatchSize} or when the
+ * first request in it has waited {@code window}, whichever comes first.
+ */
+class BillingRequestBatcher {
+
+  private final Function<BillingBatchRequest, CompletableFuture<BillingBatchResponse>> sender;
+  private final int maxBatchSize;
+  private final Duration window;
+  private final ScheduledExecutorService scheduler;
+  private final ReentrantLock lock = new ReentrantLock();
+
+  private List<PendingRequest> pending = new ArrayList<>();
+  private ScheduledFuture<?> scheduledFlush;
+
+  BillingRequestBatcher(
+      Function<BillingBatchRequest, CompletableFuture<BillingBatchResponse>> sender,
+      int maxBatchSize, Duration window) {
+    this.sender = sender;
+    this.maxBatchSize = maxBatchSize;
+    this.window = window;
+    this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "billing-batcher");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  CompletableFuture<BillingResponse> submit(BillingRequest request) {
+    CompletableFuture<BillingResponse> future = new CompletableFuture<>();
+    List<PendingRequest> batch = null;
+
+    lock.lock();
+    try {
+      pending.add(new PendingRequest(request, future));
+      if (pending.size() >= maxBatchSize) {
+        batch = drain();
+      } else if (pending.size() == 1) {
+        scheduledFlush = scheduler.schedule(this::flush, window.toNanos(),
+            TimeUnit.NANOSECONDS);
+      }
+    } finally {
+      lock.unlock();
+    }
+
+    if (batch != null) {
+      send(batch);
+    }
+    return future;
+  }
+
+  void flush() {
+    List<PendingRequest> batch;
+
+    lock.lock();
+    try {
+      if (pending.isEmpty()) {
+        return;
+      }
+      batch = drain();
+    } finally {
+      lock.unlock();
+    }
+
+    send(batch);
+  }
+
+  void shutdown() {
+    flush();
+    scheduler.shutdown();
+  }
+
+  private List<PendingRequest> drain() {
+    List<PendingRequest> batch = pending;
+    pending = new ArrayList<>();
+    if (scheduledFlush != null) {
+      scheduledFlush.cancel(false);
+      scheduledFlush = null;
+    }
+    return batch;
+  }
+
+  private void send(List<PendingRequest> batch) {
+    BillingBatchRequest.Builder request = BillingBatchRequest.newBuilder();
+    batch.forEach(pendingRequest -> request.addRequests(pendingRequest.request()));
+
+    sender.apply(request.build()).whenComplete((response, ex) -> {
+      if (ex == null && response.getResponsesCount() != batch.size()) {
+        ex = new IllegalStateException("Billing service returned "
+            + response.getResponsesCount() + " responses for "
+            + batch.size() + " requests");
+      }
+
+      for (int i = 0; i < batch.size(); i++) {
+        if (ex != null) {
+          batch.get(i).future().completeExceptionally(ex);
+        } else {
+          batch.get(i).future().complete(response.getResponses(i));
+        }
+      }
+    });
+  }
+
+  private record PendingRequest(BillingRequest request,
+                                CompletableFuture<BillingResponse> future) {
+  }
+}
@@ -1,10 +1,23 @@
 package com.pm.patientservice.grpc;
 
+import billing.BillingBatchRequest;
+import billing.BillingBatchResponse;
 import billing.BillingRequest;
 import billing.BillingResponse;
 import billing.BillingServiceGrpc;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.pm.patientservice.model.Patient;
 import io.grpc.ManagedChannel;
 import io.grpc.ManagedChannelBuilder;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -15,34 +28,136 @@ public class BillingServiceGrpcClient {
 
   private static final Logger log = LoggerFactory.getLogger(
       BillingServiceGrpcClient.class);
-  private final BillingServiceGrpc.BillingServiceBlockingStub blockingStub;
+  private final ManagedChannel channel;
+  private final BillingServiceGrpc.BillingServiceFutureStub futureStub;
+  private final Duration deadline;
+  private final BillingRequestBatcher batcher;
 
   public BillingServiceGrpcClient(
       @Value("${billing.service.address:localhost}") String serverAddress,
-      @Value("${billing.service.grpc.port:9001}") int serverPort) {
+      @Value("${billing.service.grpc.port:9001}") int serverPort,
+      @Value("${billing.service.grpc.deadline:5s}") Duration deadline,
+      @Value("${billing.service.grpc.keepalive-time:30s}") Duration keepAliveTime,
+      @Value("${billing.service.grpc.keepalive-timeout:10s}") Duration keepAliveTimeout,
+      @Value("${billing.service.grpc.retry.max-attempts:3}") int retryMaxAttempts,
+      @Value("${billing.service.grpc.batching.enabled:false}") boolean batchingEnabled,
+      @Value("${billing.service.grpc.batching.window:10ms}") Duration batchingWindow,
+      @Value("${billing.service.grpc.batching.max-size:100}") int batchingMaxSize) {
 
     log.info("Connecting to Billing Service GRPC service at {}:{}",
         serverAddress, serverPort);
 
-    ManagedChannel channel = ManagedChannelBuilder.forAddress(serverAddress,
-        serverPort).usePlaintext().build();
+    // One long-lived HTTP/2 channel shared by every call
+    channel = ManagedChannelBuilder.forAddress(serverAddress, serverPort)
+        .usePlaintext()
+        .keepAliveTime(keepAliveTime.toMillis(), TimeUnit.MILLISECONDS)
+        .keepAliveTimeout(keepAliveTimeout.toMillis(), TimeUnit.MILLISECONDS)
+        .defaultServiceConfig(retryServiceConfig(retryMaxAttempts))
+        .enableRetry()
+        .build();
 
-    blockingStub = BillingServiceGrpc.newBlockingStub(channel);
+    futureStub = BillingServiceGrpc.newFutureStub(channel);
+    this.deadline = deadline;
+    this.batcher = batchingEnabled
+        ? new BillingRequestBatcher(this::sendBatchAsync, batchingMaxSize,
+            batchingWindow)
+        : null;
   }
 
-  public BillingResponse createBillingAccount(String patientId, String name,
-      String email, String dateOfBirth, String address) {
+  /**
+   * Creates one billing account without blocking. With batching enabled the
+   * request waits up to {@code billing.service.grpc.batching.window} to share
+   * a CreateBillingAccounts call with concurrent ones; otherwise it is sent on
+   * its own. Either way the call carries the configured deadline.
+   */
+  public CompletableFuture<BillingResponse> createBillingAccountAsync(
+      Patient patient) {
+    BillingRequest request = toBillingRequest(patient);
+
+    if (batcher != null) {
+      return batcher.submit(request);
+    }
+    return toCompletableFuture(futureStub
+        .withDeadlineAfter(deadline.toMillis(), TimeUnit.MILLISECONDS)
+        .createBillingAccount(request));
+  }
+
+  /**
+   * One CreateBillingAccounts call for {@code patients}; the future completes
+   * (or fails with DEADLINE_EXCEEDED) within the configured deadline.
+   */
+  public CompletableFuture<BillingBatchResponse> createBillingAccountsAsync(
+      List<Patient> patients) {
+    return sendBatchAsync(toBatchRequest(patients));
+  }
+
+  @PreDestroy
+  public void shutdown() throws InterruptedException {
+    if (batcher != null) {
+      batcher.shutdown();
+    }
+    channel.shutdown();
+    if (!channel.awaitTermination(deadline.toMillis(), TimeUnit.MILLISECONDS)) {
+      channel.shutdownNow();
+    }
+  }
+
+  private CompletableFuture<BillingBatchResponse> sendBatchAsync(
+      BillingBatchRequest request) {
+    return toCompletableFuture(futureStub
+        .withDeadlineAfter(deadline.toMillis(), TimeUnit.MILLISECONDS)
+        .createBillingAccounts(request));
+  }
 
-    BillingRequest request = BillingRequest.newBuilder()
-        .setPatientId(patientId)
-        .setName(name)
-        .setEmail(email)
-        .setDateOfBirth(dateOfBirth)
-        .setAddress(address)
+  private static BillingBatchRequest toBatchRequest(List<Patient> patients) {
+    BillingBatchRequest.Builder request = BillingBatchRequest.newBuilder();
+    patients.forEach(patient -> request.addRequests(toBillingRequest(patient)));
+    return request.build();
+  }
+
+  private static BillingRequest toBillingRequest(Patient patient) {
+    return BillingRequest.newBuilder()
+        .setPatientId(patient.getId().toString())
+        .setName(patient.getName())
+        .setEmail(patient.getEmail())
+        .setDateOfBirth(patient.getDateOfBirth().toString())
+        .setAddress(patient.getAddress())
         .build();
+  }
+
+  /**
+   * Retries calls that failed with UNAVAILABLE, i.e. before billing-service
+   * processed them. Billing account creation is idempotent per patient ID.
+   */
+  private static Map<String, Object> retryServiceConfig(int maxAttempts) {
+    Map<String, Object> retryPolicy = Map.of(
+        "maxAttempts", (double) maxAttempts,
+        "initialBackoff", "0.2s",
+        "maxBackoff", "2s",
+        "backoffMultiplier", 2.0,
+        "retryableStatusCodes", List.of("UNAVAILABLE"));
+
+    Map<String, Object> methodConfig = Map.of(
+        "name", List.of(Map.of("service", "BillingService")),
+        "retryPolicy", retryPolicy);
+
+    return Map.of("methodConfig", List.of(methodConfig));
+  }
+
+  private static <T> CompletableFuture<T> toCompletableFuture(
+      ListenableFuture<T> listenableFuture) {
+    CompletableFuture<T> future = new CompletableFuture<>();
+    Futures.addCallback(listenableFuture, new FutureCallback<>() {
+      @Override
+      public void onSuccess(T result) {
+        future.complete(result);
+      }
 
-    BillingResponse response = blockingStub.createBillingAccount(request);
-    log.info("Received response from billing service via GRPC: {}", response);
-    return response;
+      @Override
+      public void onFailure(Throwable t) {
+        future.completeExceptionally(t);
+      }
+    }, MoreExecutors.directExecutor());
+    return future;
   }
 }
@@ -0,0 +1,164 @@
+package com.pm.patientservice.grpc;
+
+import com.pm.patientservice.dto.PatientPageResponseDTO;
+import com.pm.patientservice.dto.PatientResponseDTO;
+import com.pm.patientservice.exception.InvalidBatchRequestException;
+import com.pm.patientservice.exception.PatientNotFoundException;
+import com.pm.patientservice.service.PatientService;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.UUID;
+import net.devh.boot.grpc.server.service.GrpcService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import patient.query.BatchGetPatientsRequest;
+import patient.query.BatchGetPatientsResponse;
+import patient.query.GetPatientRequest;
+import patient.query.ListPatientsRequest;
+import patient.query.PatientQueryServiceGrpc.PatientQueryServiceImplBase;
+import patient.query.PatientRecord;
+
+@GrpcService
+public class PatientQueryGrpcService extends PatientQueryServiceImplBase {
+
+  private static final Logger log = LoggerFactory.getLogger(
+      PatientQueryGrpcService.class);
+
+  private final PatientService patientService;
+  private final int listPageSize;
+
+  public PatientQueryGrpcService(PatientService patientService,
+      @Value("${patient.grpc.list-page-size:500}") int listPageSize) {
+    this.patientService = patientService;
+    this.listPageSize = listPageSize;
+  }
+
+  @Override
+  public void getPatient(GetPatientRequest request,
+      StreamObserver<PatientRecord> responseObserver) {
+    try {
+      PatientResponseDTO patient = patientService.getPatientById(
+          parseId(request.getId()));
+      responseObserver.onNext(toRecord(patient));
+      responseObserver.onCompleted();
+    } catch (PatientNotFoundException e) {
+      responseObserver.onError(Status.NOT_FOUND
+          .withDescription(e.getMessage()).asRuntimeException());
+    } catch (IllegalArgumentException e) {
+      responseObserver.onError(Status.INVALID_ARGUMENT
+          .withDescription(e.getMessage()).asRuntimeException());
+    }
+  }
+
+  @Override
+  public void batchGetPatients(BatchGetPatientsRequest request,
+      StreamObserver<BatchGetPatientsResponse> responseObserver) {
+    try {
+      List<UUID> ids = new ArrayList<>(request.getIdsCount());
+      for (String id : request.getIdsList()) {
+        ids.add(parseId(id));
+      }
+
+      BatchGetPatientsResponse.Builder response = BatchGetPatientsResponse
+          .newBuilder();
+      patientService.getPatientsByIds(ids).values()
+          .forEach(patient -> response.addPatients(toRecord(patient)));
+
+      responseObserver.onNext(response.build());
+      responseObserver.onCompleted();
+    } catch (InvalidBatchRequestException | IllegalArgumentException e) {
+      responseObserver.onError(Status.INVALID_ARGUMENT
+          .withDescription(e.getMessage()).asRuntimeException());
+    }
+  }
+
+  /**
+   * Streams every patient in registration order. Sending is driven by the
+   * call's onReady callback: pages of {@code patient.grpc.list-page-size} are
+   * read in short transactions and sent while the client keeps up. While it
+   * does not, nothing waits: no thread, cursor or connection is held, only
+   * the rest of the current page.
+   */
+  @Override
+  public void listPatients(ListPatientsRequest request,
+      StreamObserver<PatientRecord> responseObserver) {
+    ServerCallStreamObserver<PatientRecord> observer =
+        (ServerCallStreamObserver<PatientRecord>) responseObserver;
+    ListPatientsStream stream = new ListPatientsStream(observer);
+    observer.setOnCancelHandler(stream::cancel);
+    observer.setOnReadyHandler(stream);
+  }
+
+  private static UUID parseId(String id) {
+    try {
+      return UUID.fromString(id);
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Invalid patient ID: " + id);
+    }
+  }
+
+  private static PatientRecord toRecord(PatientResponseDTO patient) {
+    return PatientRecord.newBuilder()
+        .setId(patient.getId())
+        .setName(patient.getName())
+        .setEmail(patient.getEmail())
+        .setAddress(patient.getAddress())
+        .setDateOfBirth(patient.getDateOfBirth())
+        .build();
+  }
+
+  /** State of one ListPatients call; gRPC runs its callbacks one at a time. */
+  private final class ListPatientsStream implements Runnable {
+
+    private final ServerCallStreamObserver<PatientRecord> observer;
+    private final Deque<PatientResponseDTO> buffered = new ArrayDeque<>();
+    private String nextCursor;
+    private boolean lastPageRead;
+    private long sent;
+    private volatile boolean finished;
+
+    ListPatientsStream(ServerCallStreamObserver<PatientRecord> observer) {
+      this.observer = observer;
+    }
+
+    @Override
+    public void run() {
+      try {
+        while (!finished && observer.isReady()) {
+          if (buffered.isEmpty()) {
+            if (lastPageRead) {
+              finished = true;
+              observer.onCompleted();
+              log.info("Streamed {} patients via GRPC", sent);
+              return;
+            }
+            PatientPageResponseDTO page = patientService.getPatientsAfter(
+                nextCursor, listPageSize);
+            buffered.addAll(page.getPatients());
+            nextCursor = page.getNextCursor();
+            lastPageRead = !page.isHasMore();
+            continue;
+          }
+          observer.onNext(toRecord(buffered.poll()));
+          sent++;
+        }
+      } catch (RuntimeException e) {
+        finished = true;
+        log.error("ListPatients failed after {} patients", sent, e);
+        observer.onError(Status.INTERNAL
+            .withDescription("Failed to list patients").asRuntimeException());
+      }
+    }
+
+    void cancel() {
+      finished = true;
+      log.info("ListPatients cancelled by client after {} patients", sent);
+    }
+  }
+}
@@ -1,14 +1,22 @@
 package com.pm.patientservice.kafka;
+import com.google.protobuf.Timestamp;
 import com.pm.patientservice.model.Patient;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 import patient.events.PatientEvent;
 
 @Service
 public class KafkaProducer {
 
+  public static final String PATIENT_TOPIC = "patient";
+  public static final int SCHEMA_VERSION = 2;
+
   private static final Logger log = LoggerFactory.getLogger(
       KafkaProducer.class);
   private final KafkaTemplate<String, byte[]> kafkaTemplate;
@@ -17,18 +25,58 @@ public class KafkaProducer {
     this.kafkaTemplate = kafkaTemplate;
   }
 
-  public void sendEvent(Patient patient) {
+  /**
+   * Publishes the single patient event consumed by analytics and
+   * notifications. Keyed by patient ID so events for one patient stay ordered.
+   */
+  public CompletableFuture<SendResult<String, byte[]>> sendEvent(
+      Patient patient, String eventType, Instant occurredAt) {
     PatientEvent event = PatientEvent.newBuilder()
         .setPatientId(patient.getId().toString())
         .setName(patient.getName())
         .setEmail(patient.getEmail())
-        .setEventType("PATIENT_CREATED")
+        .setEventType(eventType)
+        .setSchemaVersion(SCHEMA_VERSION)
+        .setAddress(patient.getAddress())
+        .setDateOfBirth(patient.getDateOfBirth().toString())
+        .setRegisteredDate(patient.getRegisteredDate().toString())
+        .setOccurredAt(toTimestamp(occurredAt))
+        .build();
+
+    return send(event);
+  }
+
+  /**
+   * Publishes a deletion. Only the patient ID is known once the row is gone.
+   */
+  public CompletableFuture<SendResult<String, byte[]>> sendDeletedEvent(
+      UUID patientId, Instant occurredAt) {
+    PatientEvent event = PatientEvent.newBuilder()
+        .setPatientId(patientId.toString())
+        .setEventType("PATIENT_DELETED")
+        .setSchemaVersion(SCHEMA_VERSION)
+        .setOccurredAt(toTimestamp(occurredAt))
         .build();
 
-    try {
-      kafkaTemplate.send("patient", event.toByteArray());
-    } catch (Exception e) {
-      log.error("Error sending PatientCreated event: {}", event);
-    }
+    return send(event);
+  }
+
+  private CompletableFuture<SendResult<String, byte[]>> send(
+      PatientEvent event) {
+    return kafkaTemplate.send(PATIENT_TOPIC, event.getPatientId(),
+            event.toByteArray())
+        .whenComplete((result, ex) -> {
+          if (ex != null) {
+            log.error("Error sending {} event for patient {}",
+                event.getEventType(), event.getPatientId(), ex);
+          }
+        });
+  }
+
+  private static Timestamp toTimestamp(Instant instant) {
+    return Timestamp.newBuilder()
+        .setSeconds(instant.getEpochSecond())
+        .setNanos(instant.getNano())
+        .build();
   }
 }
@@ -1,9 +1,16 @@
 package com.pm.patientservice.mapper;
 
+import com.pm.patientservice.dto.PatientPageResponseDTO;
 import com.pm.patientservice.dto.PatientRequestDTO;
 import com.pm.patientservice.dto.PatientResponseDTO;
 import com.pm.patientservice.model.Patient;
+import com.pm.patientservice.util.PatientField;
+import jakarta.persistence.Tuple;
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import patient.rest.PatientList;
+import patient.rest.PatientPage;
 
 public class PatientMapper {
   public static PatientResponseDTO toDTO(Patient patient) {
@@ -17,6 +24,25 @@ public class PatientMapper {
     return patientDTO;
   }
 
+  /**
+   * Builds a DTO from a {@code findTuples} row, setting only {@code fields};
+   * the rest stay null and are left out of the JSON.
+   */
+  public static PatientResponseDTO toDTO(Tuple tuple, Set<PatientField> fields) {
+    PatientResponseDTO patientDTO = new PatientResponseDTO();
+    for (PatientField field : fields) {
+      String value = tuple.get(field.getAttribute()).toString();
+      switch (field) {
+        case ID -> patientDTO.setId(value);
+        case NAME -> patientDTO.setName(value);
+        case EMAIL -> patientDTO.setEmail(value);
+        case ADDRESS -> patientDTO.setAddress(value);
+        case DATE_OF_BIRTH -> patientDTO.setDateOfBirth(value);
+      }
+    }
+    return patientDTO;
+  }
+
   public static Patient toModel(PatientRequestDTO patientRequestDTO) {
     Patient patient = new Patient();
     patient.setName(patientRequestDTO.getName());
@@ -26,4 +52,42 @@ public class PatientMapper {
     patient.setRegisteredDate(LocalDate.parse(patientRequestDTO.getRegisteredDate()));
     return patient;
   }
+
+  public static patient.rest.Patient toProto(PatientResponseDTO patientDTO) {
+    // Proto3 strings reject null; fields left out by ?fields= read back as ""
+    patient.rest.Patient.Builder builder = patient.rest.Patient.newBuilder();
+    if (patientDTO.getId() != null) {
+      builder.setId(patientDTO.getId());
+    }
+    if (patientDTO.getName() != null) {
+      builder.setName(patientDTO.getName());
+    }
+    if (patientDTO.getEmail() != null) {
+      builder.setEmail(patientDTO.getEmail());
+    }
+    if (patientDTO.getAddress() != null) {
+      builder.setAddress(patientDTO.getAddress());
+    }
+    if (patientDTO.getDateOfBirth() != null) {
+      builder.setDateOfBirth(patientDTO.getDateOfBirth());
+    }
+    return builder.build();
+  }
+
+  public static PatientList toProto(List<PatientResponseDTO> patientDTOs) {
+    PatientList.Builder builder = PatientList.newBuilder();
+    patientDTOs.forEach(patientDTO -> builder.addPatients(toProto(patientDTO)));
+    return builder.build();
+  }
+
+  public static PatientPage toProto(PatientPageResponseDTO pageDTO) {
+    PatientPage.Builder builder = PatientPage.newBuilder()
+        .setHasMore(pageDTO.isHasMore());
+    pageDTO.getPatients()
+        .forEach(patientDTO -> builder.addPatients(toProto(patientDTO)));
+    if (pageDTO.getNextCursor() != null) {
+      builder.setNextCursor(pageDTO.getNextCursor());
+    }
+    return builder.build();
+  }
 }
@@ -0,0 +1,143 @@
+package com.pm.patientservice.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A side effect of a patient write (billing account, Kafka event) recorded in
+ * the same transaction as the write and delivered later by the outbox relay.
+ */
+@Entity
+@Table(name = "outbox_event", indexes = {
+    @Index(name = "idx_outbox_event_status_next_attempt",
+        columnList = "status, next_attempt_at"),
+    @Index(name = "idx_outbox_event_aggregate_status",
+        columnList = "aggregate_id, status")})
+public class OutboxEvent {
+  @Id
+  @UuidV7
+  private UUID id;
+
+  @Column(name = "aggregate_id", nullable = false)
+  private UUID aggregateId;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "event_type", nullable = false)
+  private OutboxEventType eventType;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "status", nullable = false)
+  private OutboxStatus status = OutboxStatus.PENDING;
+
+  @Column(name = "attempts", nullable = false)
+  private int attempts;
+
+  @Column(name = "next_attempt_at", nullable = false)
+  private LocalDateTime nextAttemptAt;
+
+  @Column(name = "created_at", nullable = false)
+  private LocalDateTime createdAt;
+
+  @Column(name = "published_at")
+  private LocalDateTime publishedAt;
+
+  @Column(name = "last_error", length = 1000)
+  private String lastError;
+
+  public OutboxEvent() {
+  }
+
+  public OutboxEvent(UUID aggregateId, OutboxEventType eventType) {
+    this.aggregateId = aggregateId;
+    this.eventType = eventType;
+    this.createdAt = LocalDateTime.now();
+    this.nextAttemptAt = this.createdAt;
+  }
+
+  public UUID getId() {
+    return id;
+  }
+
+  public void setId(UUID id) {
+    this.id = id;
+  }
+
+  public UUID getAggregateId() {
+    return aggregateId;
+  }
+
+  public void setAggregateId(UUID aggregateId) {
+    this.aggregateId = aggregateId;
+  }
+
+  public OutboxEventType getEventType() {
+    return eventType;
+  }
+
+  public void setEventType(OutboxEventType eventType) {
+    this.eventType = eventType;
+  }
+
+  public OutboxStatus getStatus() {
+    return status;
+  }
+
+  public void setStatus(OutboxStatus status) {
+    this.status = status;
+  }
+
+  public int getAttempts() {
+    return attempts;
+  }
+
+  public void setAttempts(int attempts) {
+    this.attempts = attempts;
+  }
+
+  public LocalDateTime getNextAttemptAt() {
+    return nextAttemptAt;
+  }
+
+  public void setNextAttemptAt(LocalDateTime nextAttemptAt) {
+    this.nextAttemptAt = nextAttemptAt;
+  }
+
+  public LocalDateTime getCreatedAt() {
+    return createdAt;
+  }
+
+  public void setCreatedAt(LocalDateTime createdAt) {
+    this.createdAt = createdAt;
+  }
+
+  public LocalDateTime getPublishedAt() {
+    return publishedAt;
+  }
+
+  public void setPublishedAt(LocalDateTime publishedAt) {
+    this.publishedAt = publishedAt;
+  }
+
+  public String getLastError() {
+    return lastError;
+  }
+
+  public void setLastError(String lastError) {
+    this.lastError = lastError;
+  }
+
+  public enum OutboxEventType {
+    CREATE_BILLING_ACCOUNT, PATIENT_CREATED, PATIENT_UPDATED, PATIENT_DELETED
+  }
+
+  public enum OutboxStatus {
+    PENDING, PUBLISHED, FAILED
+  }
+}
@@ -2,18 +2,24 @@ package com.pm.patientservice.model;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotNull;
 import java.time.LocalDate;
 import java.util.UUID;
 
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(
+    name = Patient.EMAIL_UNIQUE_CONSTRAINT, columnNames = "email"))
 public class Patient {
+
+  // Also created by data.sql; duplicate emails are recognized by this name
+  public static final String EMAIL_UNIQUE_CONSTRAINT = "patient_email_unique";
+
   @Id
-  @GeneratedValue(strategy = GenerationType.AUTO)
+  @UuidV7
   private UUID id;
 
   @NotNull
@@ -21,7 +27,6 @@ public class Patient {
 
   @NotNull
   @Email
-  @Column(unique = true)
   private String email;
 
   @NotNull
@@ -33,6 +38,10 @@ public class Patient {
   @NotNull
   private LocalDate registeredDate;
 
+  // Assigned by the patient_change_version trigger (data.sql)
+  @Column(name = "change_version", insertable = false, updatable = false)
+  private Long changeVersion;
+
   public UUID getId() {
     return id;
   }
@@ -81,4 +90,12 @@ public class Patient {
     this.registeredDate = registeredDate;
   }
 
+  public Long getChangeVersion() {
+    return changeVersion;
+  }
+
+  public void setChangeVersion(Long changeVersion) {
+    this.changeVersion = changeVersion;
+  }
+
 }
@@ -0,0 +1,63 @@
+package com.pm.patientservice.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Marks a deleted patient in the change feed so consumers syncing by version
+ * see the deletion.
+ */
+@Entity
+@Table(name = "patient_tombstone", indexes = @Index(
+    name = "idx_patient_tombstone_change_version",
+    columnList = "change_version"))
+public class PatientTombstone {
+  @Id
+  @Column(name = "patient_id")
+  private UUID patientId;
+
+  // Assigned by the patient_change_version trigger (data.sql)
+  @Column(name = "change_version", nullable = false, insertable = false,
+      updatable = false)
+  private Long changeVersion;
+
+  @Column(name = "deleted_at", nullable = false)
+  private LocalDateTime deletedAt;
+
+  public PatientTombstone() {
+  }
+
+  public PatientTombstone(UUID patientId) {
+    this.patientId = patientId;
+    this.deletedAt = LocalDateTime.now();
+  }
+
+  public UUID getPatientId() {
+    return patientId;
+  }
+
+  public void setPatientId(UUID patientId) {
+    this.patientId = patientId;
+  }
+
+  public Long getChangeVersion() {
+    return changeVersion;
+  }
+
+  public void setChangeVersion(Long changeVersion) {
+    this.changeVersion = changeVersion;
+  }
+
+  public LocalDateTime getDeletedAt() {
+    return deletedAt;
+  }
+
+  public void setDeletedAt(LocalDateTime deletedAt) {
+    this.deletedAt = deletedAt;
+  }
+}
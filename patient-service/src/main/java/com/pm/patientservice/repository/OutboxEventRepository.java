@@ -0,0 +1,41 @@
+package com.pm.patientservice.repository;
+
+import com.pm.patientservice.model.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, UUID> {
+
+  // Lock timeout -2 is Hibernate's SKIP LOCKED, so several relay instances
+  // can drain the outbox concurrently without picking the same rows. A
+  // patient event waits while an earlier one for the same patient is still
+  // pending, so a retried event is never overtaken by a later one.
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+  @Query("SELECT e FROM OutboxEvent e WHERE e.status = 'PENDING' "
+      + "AND e.nextAttemptAt <= :now "
+      + "AND (e.eventType = 'CREATE_BILLING_ACCOUNT' OR NOT EXISTS ("
+      + "SELECT 1 FROM OutboxEvent p WHERE p.aggregateId = e.aggregateId "
+      + "AND p.status = 'PENDING' AND p.eventType <> 'CREATE_BILLING_ACCOUNT' "
+      + "AND p.createdAt < e.createdAt)) "
+      + "ORDER BY e.createdAt")
+  List<OutboxEvent> findDueForUpdate(@Param("now") LocalDateTime now,
+      Limit limit);
+
+  @Modifying
+  @Query("DELETE FROM OutboxEvent e WHERE e.status = 'PUBLISHED' "
+      + "AND e.publishedAt < :cutoff")
+  int deletePublishedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
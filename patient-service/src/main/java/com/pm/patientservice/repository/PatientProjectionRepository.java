@@ -0,0 +1,18 @@
+package com.pm.patientservice.repository;
+
+import com.pm.patientservice.model.Patient;
+import jakarta.persistence.Tuple;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface PatientProjectionRepository {
+
+  /**
+   * Selects only {@code attributes} (each aliased by its attribute name) for
+   * patients matching {@code spec}, without loading entities.
+   */
+  List<Tuple> findTuples(Specification<Patient> spec, Sort sort,
+      Collection<String> attributes, int limit);
+}
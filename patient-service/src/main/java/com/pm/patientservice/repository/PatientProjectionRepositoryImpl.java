@@ -0,0 +1,48 @@
+package com.pm.patientservice.repository;
+
+import com.pm.patientservice.model.Patient;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+class PatientProjectionRepositoryImpl implements PatientProjectionRepository {
+
+  private final EntityManager entityManager;
+
+  PatientProjectionRepositoryImpl(EntityManager entityManager) {
+    this.entityManager = entityManager;
+  }
+
+  @Override
+  public List<Tuple> findTuples(Specification<Patient> spec, Sort sort,
+      Collection<String> attributes, int limit) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Tuple> query = cb.createTupleQuery();
+    Root<Patient> root = query.from(Patient.class);
+
+    List<Selection<?>> selections = new ArrayList<>();
+    for (String attribute : attributes) {
+      selections.add(root.get(attribute).alias(attribute));
+    }
+    query.multiselect(selections);
+
+    Predicate predicate = spec.toPredicate(root, query, cb);
+    if (predicate != null) {
+      query.where(predicate);
+    }
+    query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+    return entityManager.createQuery(query).setMaxResults(limit)
+        .getResultList();
+  }
+}
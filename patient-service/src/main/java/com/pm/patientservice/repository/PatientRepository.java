@@ -1,12 +1,47 @@
 package com.pm.patientservice.repository;
 
 import com.pm.patientservice.model.Patient;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface PatientRepository extends JpaRepository<Patient, UUID> {
+public interface PatientRepository extends JpaRepository<Patient, UUID>,
+    JpaSpecificationExecutor<Patient>, PatientProjectionRepository {
   boolean existsByEmail(String email);
   boolean existsByEmailAndIdNot(String email, UUID id);
+
+  List<Patient> findByChangeVersionBetweenOrderByChangeVersion(
+      long fromVersion, long toVersion, Limit limit);
+
+  @Query("SELECT p.email FROM Patient p WHERE p.email IN :emails")
+  Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+  // Must be consumed inside a transaction so Postgres keeps a server-side
+  // cursor open and only fetch-size rows are held by the driver at a time.
+  @QueryHints({
+      @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+      @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+      @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+  })
+  @Query("SELECT p FROM Patient p ORDER BY p.registeredDate, p.id")
+  Stream<Patient> streamAllOrderByRegisteredDate();
+
+  @QueryHints({
+      @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "5000"),
+      @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  @Query("SELECT p.email FROM Patient p")
+  Stream<String> streamAllEmails();
 }
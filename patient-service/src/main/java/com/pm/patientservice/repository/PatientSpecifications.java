@@ -0,0 +1,56 @@
+package com.pm.patientservice.repository;
+
+import com.pm.patientservice.model.Patient;
+import com.pm.patientservice.util.PatientCursor;
+import java.time.LocalDate;
+import java.util.UUID;
+import org.springframework.data.jpa.domain.Specification;
+
+public final class PatientSpecifications {
+
+  private PatientSpecifications() {
+  }
+
+  public static Specification<Patient> hasId(UUID id) {
+    return (root, query, cb) -> cb.equal(root.get("id"), id);
+  }
+
+  public static Specification<Patient> nameContains(String name) {
+    return (root, query, cb) -> name == null || name.isBlank() ? null
+        : cb.like(cb.lower(root.get("name")),
+            "%" + name.trim().toLowerCase() + "%");
+  }
+
+  public static Specification<Patient> registeredOnOrAfter(LocalDate from) {
+    return (root, query, cb) -> from == null ? null
+        : cb.greaterThanOrEqualTo(root.get("registeredDate"), from);
+  }
+
+  public static Specification<Patient> registeredOnOrBefore(LocalDate to) {
+    return (root, query, cb) -> to == null ? null
+        : cb.lessThanOrEqualTo(root.get("registeredDate"), to);
+  }
+
+  /**
+   * Keyset seek predicate: only rows strictly after the cursor position in the
+   * cursor's sort order. Backed by the (registered_date, id) index.
+   */
+  public static Specification<Patient> after(PatientCursor cursor) {
+    return (root, query, cb) -> {
+      if (cursor == null) {
+        return null;
+      }
+
+      return switch (cursor.getSortField()) {
+        case ID -> cb.greaterThan(root.<UUID>get("id"), cursor.getId());
+        case REGISTERED_DATE -> cb.or(
+            cb.greaterThan(root.get("registeredDate"),
+                cursor.getRegisteredDate()),
+            cb.and(
+                cb.equal(root.get("registeredDate"),
+                    cursor.getRegisteredDate()),
+                cb.greaterThan(root.<UUID>get("id"), cursor.getId())));
+      };
+    };
+  }
+}
@@ -0,0 +1,16 @@
+package com.pm.patientservice.repository;
+
+import com.pm.patientservice.model.PatientTombstone;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PatientTombstoneRepository
+    extends JpaRepository<PatientTombstone, UUID> {
+
+  List<PatientTombstone> findByChangeVersionBetweenOrderByChangeVersion(
+      long fromVersion, long toVersion, Limit limit);
+}
@@ -0,0 +1,167 @@
+package com.pm.patientservice.search;
+
+import com.pm.patientservice.dto.PatientSearchResultDTO;
+import com.pm.patientservice.exception.SearchIndexUnavailableException;
+import com.pm.patientservice.model.Patient;
+import com.pm.patientservice.service.PatientExportService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Substring and prefix search over patient name and email, served from a
+ * {@link PatientTrigramIndex}. Built from the database once the application
+ * is ready and updated after each committed write.
+ */
+@Component
+public class PatientSearchIndex {
+
+  private static final Logger log = LoggerFactory.getLogger(
+      PatientSearchIndex.class);
+  private static final int MIN_COMPACT_DELETES = 10_000;
+
+  private final PatientExportService patientExportService;
+  private final TransactionTemplate transactionTemplate;
+  private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+  private PatientTrigramIndex index = newIndex();
+  // Non-null while build() loads: writes committed meanwhile, in commit order
+  private List<Consumer<PatientTrigramIndex>> pendingWhileBuilding;
+  private volatile boolean ready;
+
+  public PatientSearchIndex(PatientExportService patientExportService,
+      TransactionTemplate transactionTemplate) {
+    this.patientExportService = patientExportService;
+    this.transactionTemplate = transactionTemplate;
+  }
+
+  /**
+   * Loads into a fresh index without holding the lock, then swaps it in.
+   * Writes committed during the load are recorded and replayed onto the new
+   * index just before the swap; upserts and removes are keyed by patient ID,
+   * so replaying one the load already saw is harmless. The load joins a
+   * read-write transaction so it reads the primary, never a lagging replica.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void build() {
+    long started = System.nanoTime();
+    lock.writeLock().lock();
+    try {
+      pendingWhileBuilding = new ArrayList<>();
+    } finally {
+      lock.writeLock().unlock();
+    }
+
+    PatientTrigramIndex fresh = newIndex();
+    long count;
+    try {
+      count = transactionTemplate.execute(
+          status -> patientExportService.forEachPatient(
+              patient -> fresh.upsert(UUID.fromString(patient.getId()),
+                  patient.getName(), patient.getEmail())));
+    } catch (RuntimeException e) {
+      lock.writeLock().lock();
+      try {
+        pendingWhileBuilding = null;
+      } finally {
+        lock.writeLock().unlock();
+      }
+      throw e;
+    }
+
+    int replayed;
+    lock.writeLock().lock();
+    try {
+      replayed = pendingWhileBuilding.size();
+      pendingWhileBuilding.forEach(update -> update.accept(fresh));
+      pendingWhileBuilding = null;
+      index = fresh;
+      ready = true;
+    } finally {
+      lock.writeLock().unlock();
+    }
+    log.info("Indexed {} patients for search in {} ms ({} writes replayed)",
+        count, (System.nanoTime() - started) / 1_000_000, replayed);
+  }
+
+  public List<PatientSearchResultDTO> search(String query, int limit) {
+    if (!ready) {
+      throw new SearchIndexUnavailableException(
+          "Patient search index is still loading");
+    }
+
+    lock.readLock().lock();
+    try {
+      return index.search(query, limit);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Indexes the patients once the surrounding transaction commits, or
+   * immediately when there is none.
+   */
+  public void upsertAfterCommit(List<Patient> patients) {
+    // Copy now: the entities may change or be detached before commit
+    List<IndexedPatient> snapshot = patients.stream()
+        .map(p -> new IndexedPatient(p.getId(), p.getName(), p.getEmail()))
+        .toList();
+
+    afterCommit(target -> {
+      for (IndexedPatient p : snapshot) {
+        target.upsert(p.id(), p.name(), p.email());
+      }
+    });
+  }
+
+  public void removeAfterCommit(UUID patientId) {
+    afterCommit(target -> {
+      target.remove(patientId);
+      target.compactIfNeeded();
+    });
+  }
+
+  private void afterCommit(Consumer<PatientTrigramIndex> update) {
+    Runnable apply = () -> {
+      lock.writeLock().lock();
+      try {
+        update.accept(index);
+        if (pendingWhileBuilding != null) {
+          pendingWhileBuilding.add(update);
+        }
+      } finally {
+        lock.writeLock().unlock();
+      }
+    };
+
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      apply.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            apply.run();
+          }
+        });
+  }
+
+  private static PatientTrigramIndex newIndex() {
+    return new PatientTrigramIndex(MIN_COMPACT_DELETES);
+  }
+
+  private record IndexedPatient(UUID id, String name, String email) {
+  }
+}
@@ -0,0 +1,260 @@
+package com.pm.patientservice.search;
+
+import com.pm.patientservice.dto.PatientSearchResultDTO;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Trigram inverted index over patient name and email. Each token is padded
+ * with two leading markers, so one to two character queries match token
+ * prefixes and longer queries match substrings. Posting lists are sorted int
+ * arrays of document IDs that are intersected smallest first; candidates are
+ * then verified against the stored text, so results are exact.
+ *
+ * <p>Updates and deletes tombstone the old document, and the index is rebuilt
+ * in memory once at least {@code minCompactDeletes} tombstones make up a
+ * quarter of it. Not thread-safe; {@link PatientSearchIndex} guards it.
+ */
+final class PatientTrigramIndex {
+
+  private static final Logger log = LoggerFactory.getLogger(
+      PatientTrigramIndex.class);
+  private static final char PAD = '\u0001';
+
+  private final int minCompactDeletes;
+  private final Map<Long, PostingList> postings = new HashMap<>();
+  private final Map<UUID, Integer> docIdByPatient = new HashMap<>();
+  private final BitSet deleted = new BitSet();
+  private UUID[] ids = new UUID[1024];
+  private String[] names = new String[1024];
+  private String[] emails = new String[1024];
+  private int docCount;
+  private int deletedCount;
+
+  PatientTrigramIndex(int minCompactDeletes) {
+    this.minCompactDeletes = minCompactDeletes;
+  }
+
+  /** Documents stored, tombstoned ones included. */
+  int documentCount() {
+    return docCount;
+  }
+
+  List<PatientSearchResultDTO> search(String query, int limit) {
+    List<String> queryTokens = tokenize(normalize(query));
+    if (queryTokens.isEmpty()) {
+      return List.of();
+    }
+
+    Set<Long> queryGrams = new HashSet<>();
+    for (String token : queryTokens) {
+      addQueryGrams(token, queryGrams);
+    }
+
+    PostingList[] lists = new PostingList[queryGrams.size()];
+    int i = 0;
+    for (long gram : queryGrams) {
+      PostingList list = postings.get(gram);
+      if (list == null) {
+        return List.of();
+      }
+      lists[i++] = list;
+    }
+    Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+
+    List<PatientSearchResultDTO> results = new ArrayList<>(
+        Math.min(limit, lists[0].size));
+    int[] cursors = new int[lists.length];
+
+    candidates:
+    for (int c = 0; c < lists[0].size && results.size() < limit; c++) {
+      int docId = lists[0].docs[c];
+      for (int l = 1; l < lists.length; l++) {
+        cursors[l] = lists[l].advanceTo(cursors[l], docId);
+        if (cursors[l] == lists[l].size) {
+          break candidates;
+        }
+        if (lists[l].docs[cursors[l]] != docId) {
+          continue candidates;
+        }
+      }
+      if (!deleted.get(docId) && matches(docId, queryTokens)) {
+        results.add(new PatientSearchResultDTO(ids[docId].toString(),
+            names[docId], emails[docId]));
+      }
+    }
+    return results;
+  }
+
+  void upsert(UUID id, String name, String email) {
+    Integer existing = docIdByPatient.get(id);
+    if (existing != null) {
+      if (names[existing].equals(name) && emails[existing].equals(email)) {
+        return;
+      }
+      remove(id);
+    }
+
+    int docId = docCount++;
+    if (docId == ids.length) {
+      int capacity = ids.length * 2;
+      ids = Arrays.copyOf(ids, capacity);
+      names = Arrays.copyOf(names, capacity);
+      emails = Arrays.copyOf(emails, capacity);
+    }
+    ids[docId] = id;
+    names[docId] = name;
+    emails[docId] = email;
+    docIdByPatient.put(id, docId);
+
+    Set<Long> grams = new HashSet<>();
+    for (String token : tokenize(normalize(name + " " + email))) {
+      addDocumentGrams(token, grams);
+    }
+    // Doc IDs only grow, so every posting list stays sorted
+    for (long gram : grams) {
+      postings.computeIfAbsent(gram, g -> new PostingList()).add(docId);
+    }
+
+    compactIfNeeded();
+  }
+
+  void remove(UUID id) {
+    Integer docId = docIdByPatient.remove(id);
+    if (docId != null) {
+      deleted.set(docId);
+      deletedCount++;
+    }
+  }
+
+  void compactIfNeeded() {
+    if (deletedCount < minCompactDeletes || deletedCount * 4 < docCount) {
+      return;
+    }
+
+    UUID[] liveIds = new UUID[docCount - deletedCount];
+    String[] liveNames = new String[liveIds.length];
+    String[] liveEmails = new String[liveIds.length];
+    int live = 0;
+    for (int docId = 0; docId < docCount; docId++) {
+      if (!deleted.get(docId)) {
+        liveIds[live] = ids[docId];
+        liveNames[live] = names[docId];
+        liveEmails[live] = emails[docId];
+        live++;
+      }
+    }
+
+    postings.clear();
+    docIdByPatient.clear();
+    deleted.clear();
+    docCount = 0;
+    deletedCount = 0;
+    for (int i = 0; i < live; i++) {
+      upsert(liveIds[i], liveNames[i], liveEmails[i]);
+    }
+    log.info("Compacted patient search index to {} documents", live);
+  }
+
+  private boolean matches(int docId, List<String> queryTokens) {
+    String text = normalize(names[docId] + " " + emails[docId]);
+    List<String> docTokens = null;
+
+    for (String token : queryTokens) {
+      if (token.length() >= 3) {
+        if (!text.contains(token)) {
+          return false;
+        }
+      } else {
+        if (docTokens == null) {
+          docTokens = tokenize(text);
+        }
+        if (docTokens.stream().noneMatch(t -> t.startsWith(token))) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  private static void addDocumentGrams(String token, Set<Long> grams) {
+    String padded = "" + PAD + PAD + token;
+    for (int i = 0; i + 3 <= padded.length(); i++) {
+      grams.add(gram(padded, i));
+    }
+  }
+
+  private static void addQueryGrams(String token, Set<Long> grams) {
+    if (token.length() >= 3) {
+      for (int i = 0; i + 3 <= token.length(); i++) {
+        grams.add(gram(token, i));
+      }
+    } else {
+      // Padded grams only occur at token starts: a prefix match
+      String padded = "" + PAD + PAD + token;
+      grams.add(gram(padded, padded.length() - 3));
+    }
+  }
+
+  private static long gram(String s, int offset) {
+    return ((long) s.charAt(offset) << 32)
+        | ((long) s.charAt(offset + 1) << 16)
+        | s.charAt(offset + 2);
+  }
+
+  private static String normalize(String s) {
+    return s == null ? "" : s.toLowerCase(Locale.ROOT);
+  }
+
+  private static List<String> tokenize(String s) {
+    List<String> tokens = new ArrayList<>();
+    int start = -1;
+    for (int i = 0; i <= s.length(); i++) {
+      boolean wordChar = i < s.length() && Character.isLetterOrDigit(s.charAt(i));
+      if (wordChar && start < 0) {
+        start = i;
+      } else if (!wordChar && start >= 0) {
+        tokens.add(s.substring(start, i));
+        start = -1;
+      }
+    }
+    return tokens;
+  }
+
+  private static final class PostingList {
+    private int[] docs = new int[4];
+    private int size;
+
+    void add(int docId) {
+      if (size == docs.length) {
+        docs = Arrays.copyOf(docs, size * 2);
+      }
+      docs[size++] = docId;
+    }
+
+    /** First index at or after {@code from} whose doc ID is >= target. */
+    int advanceTo(int from, int target) {
+      int bound = 1;
+      while (from + bound < size && docs[from + bound] < target) {
+        bound <<= 1;
+      }
+      int low = from + (bound >> 1);
+      int high = Math.min(from + bound, size - 1);
+      if (low >= size || docs[high] < target) {
+        return size;
+      }
+      int index = Arrays.binarySearch(docs, low, high + 1, target);
+      return index >= 0 ? index : -index - 1;
+    }
+  }
+}
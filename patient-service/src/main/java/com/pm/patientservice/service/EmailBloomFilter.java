@@ -0,0 +1,153 @@
+package com.pm.patientservice.service;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import com.pm.patientservice.repository.PatientRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Bloom filter of every email ever stored, used to skip the uniqueness
+ * pre-check for emails that are definitely new. Emails of deleted or updated
+ * patients stay in the filter and only cost an extra DB check. Until the
+ * filter is loaded every email is treated as a possible match.
+ */
+@Component
+public class EmailBloomFilter {
+
+  private static final Logger log = LoggerFactory.getLogger(
+      EmailBloomFilter.class);
+
+  private final PatientRepository patientRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final long expectedInsertions;
+  private final double falsePositiveProbability;
+  private final Counter misses;
+  private final Counter falsePositives;
+  private final Counter truePositives;
+
+  private volatile BloomFilter<String> filter;
+  private volatile BloomFilter<String> building;
+
+  public EmailBloomFilter(PatientRepository patientRepository,
+      TransactionTemplate transactionTemplate,
+      MeterRegistry meterRegistry,
+      @Value("${patient.email-filter.expected-insertions:1000000}") long expectedInsertions,
+      @Value("${patient.email-filter.fpp:0.01}") double falsePositiveProbability) {
+    this.patientRepository = patientRepository;
+    this.transactionTemplate = transactionTemplate;
+    this.expectedInsertions = expectedInsertions;
+    this.falsePositiveProbability = falsePositiveProbability;
+
+    this.misses = Counter.builder("patient.email.filter.checks")
+        .tag("result", "miss").register(meterRegistry);
+    this.falsePositives = Counter.builder("patient.email.filter.checks")
+        .tag("result", "false_positive").register(meterRegistry);
+    this.truePositives = Counter.builder("patient.email.filter.checks")
+        .tag("result", "true_positive").register(meterRegistry);
+
+    Gauge.builder("patient.email.filter.false.positive.rate", this,
+            EmailBloomFilter::observedFalsePositiveRate)
+        .description("False positives / (false positives + definite misses)")
+        .register(meterRegistry);
+    Gauge.builder("patient.email.filter.expected.fpp", this,
+            f -> f.filter == null ? Double.NaN : f.filter.expectedFpp())
+        .description("False positive probability implied by the current fill")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Loads every stored email. Emails committed while loading are written to
+   * both filters, so none are missed when the new filter is swapped in.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void build() {
+    long storedCount = patientRepository.count();
+    building = BloomFilter.create(
+        Funnels.stringFunnel(StandardCharsets.UTF_8),
+        Math.max(expectedInsertions, storedCount * 2),
+        falsePositiveProbability);
+
+    // Read-write on purpose: a lagging read replica would miss recent emails
+    transactionTemplate.executeWithoutResult(status -> {
+      try (Stream<String> emails = patientRepository.streamAllEmails()) {
+        emails.forEach(building::put);
+      }
+    });
+
+    filter = building;
+    building = null;
+    log.info("Loaded {} patient emails into the email Bloom filter",
+        storedCount);
+  }
+
+  /**
+   * Returns whether {@code email} is taken, asking {@code dbCheck} only when
+   * the filter cannot rule it out.
+   */
+  public boolean isTaken(String email, BooleanSupplier dbCheck) {
+    BloomFilter<String> current = filter;
+    if (current != null && !current.mightContain(email)) {
+      misses.increment();
+      return false;
+    }
+
+    boolean taken = dbCheck.getAsBoolean();
+    if (current != null) {
+      (taken ? truePositives : falsePositives).increment();
+    }
+    return taken;
+  }
+
+  public boolean mightContain(String email) {
+    BloomFilter<String> current = filter;
+    return current == null || current.mightContain(email);
+  }
+
+  public void addAfterCommit(Collection<String> emails) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      add(emails);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            add(emails);
+          }
+        });
+  }
+
+  private void add(Collection<String> emails) {
+    BloomFilter<String> loading = building;
+    BloomFilter<String> current = filter;
+    for (String email : emails) {
+      if (loading != null) {
+        loading.put(email);
+      }
+      if (current != null) {
+        current.put(email);
+      }
+    }
+  }
+
+  private double observedFalsePositiveRate() {
+    double positives = falsePositives.count();
+    double negatives = positives + misses.count();
+    return negatives == 0 ? 0.0 : positives / negatives;
+  }
+}
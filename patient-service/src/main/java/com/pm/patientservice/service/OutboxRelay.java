@@ -0,0 +1,277 @@
+package com.pm.patientservice.service;
+
+import billing.BillingBatchResponse;
+import com.pm.patientservice.grpc.BillingServiceGrpcClient;
+import com.pm.patientservice.kafka.KafkaProducer;
+import com.pm.patientservice.model.OutboxEvent;
+import com.pm.patientservice.model.OutboxEvent.OutboxEventType;
+import com.pm.patientservice.model.OutboxEvent.OutboxStatus;
+import com.pm.patientservice.model.Patient;
+import com.pm.patientservice.repository.OutboxEventRepository;
+import com.pm.patientservice.repository.PatientRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Drains pending outbox events in batches, without holding a transaction
+ * across the network. A short transaction claims due rows and leases them by
+ * moving {@code next_attempt_at} {@code patient.outbox.lease} ahead, so other
+ * relays skip them. The sends then run outside any transaction: billing
+ * accounts as one CreateBillingAccounts RPC per batch, in flight while the
+ * batch's patient events are sent to Kafka. A second short transaction marks
+ * each event published or schedules its retry, with exponential backoff until
+ * {@code patient.outbox.max-attempts}. If the relay dies mid-batch, the lease
+ * expires and the events go out again.
+ */
+@Component
+public class OutboxRelay {
+
+  private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+  private final OutboxEventRepository outboxEventRepository;
+  private final PatientRepository patientRepository;
+  private final BillingServiceGrpcClient billingServiceGrpcClient;
+  private final KafkaProducer kafkaProducer;
+  private final TransactionTemplate transactionTemplate;
+  private final int batchSize;
+  private final int maxAttempts;
+  private final Duration initialBackoff;
+  private final Duration maxBackoff;
+  private final Duration sendTimeout;
+  private final Duration lease;
+  private final Duration retention;
+
+  public OutboxRelay(OutboxEventRepository outboxEventRepository,
+      PatientRepository patientRepository,
+      BillingServiceGrpcClient billingServiceGrpcClient,
+      KafkaProducer kafkaProducer,
+      TransactionTemplate transactionTemplate,
+      @Value("${patient.outbox.batch-size:200}") int batchSize,
+      @Value("${patient.outbox.max-attempts:10}") int maxAttempts,
+      @Value("${patient.outbox.initial-backoff:1s}") Duration initialBackoff,
+      @Value("${patient.outbox.max-backoff:5m}") Duration maxBackoff,
+      @Value("${patient.outbox.send-timeout:10s}") Duration sendTimeout,
+      @Value("${patient.outbox.lease:1m}") Duration lease,
+      @Value("${patient.outbox.retention:7d}") Duration retention) {
+    this.outboxEventRepository = outboxEventRepository;
+    this.patientRepository = patientRepository;
+    this.billingServiceGrpcClient = billingServiceGrpcClient;
+    this.kafkaProducer = kafkaProducer;
+    this.transactionTemplate = transactionTemplate;
+    this.batchSize = batchSize;
+    this.maxAttempts = maxAttempts;
+    this.initialBackoff = initialBackoff;
+    this.maxBackoff = maxBackoff;
+    this.sendTimeout = sendTimeout;
+    this.lease = lease;
+    this.retention = retention;
+  }
+
+  @Scheduled(fixedDelayString = "${patient.outbox.poll-interval:500ms}")
+  public void relayPendingEvents() {
+    int relayed;
+    do {
+      relayed = relayBatch();
+    } while (relayed == batchSize);
+  }
+
+  @Scheduled(cron = "${patient.outbox.cleanup-cron:0 0 * * * *}")
+  public void deletePublishedEvents() {
+    Integer deleted = transactionTemplate.execute(status -> outboxEventRepository
+        .deletePublishedBefore(LocalDateTime.now().minus(retention)));
+    log.info("Deleted {} published outbox events", deleted);
+  }
+
+  private int relayBatch() {
+    Batch batch = transactionTemplate.execute(status -> claimBatch());
+    if (batch == null || batch.claimed() == 0) {
+      return 0;
+    }
+
+    CompletableFuture<BillingBatchResponse> billing = sendBillingAccounts(
+        batch.billingEvents(), batch.patients());
+    relayPatientEvents(batch.patientEvents(), batch.patients());
+    completeBillingAccounts(batch.billingEvents(), billing);
+
+    List<OutboxEvent> sent = new ArrayList<>(batch.billingEvents());
+    sent.addAll(batch.patientEvents());
+    if (!sent.isEmpty()) {
+      transactionTemplate.executeWithoutResult(status -> {
+        // Load them into the persistence context so the merges need no selects
+        outboxEventRepository.findAllById(
+            sent.stream().map(OutboxEvent::getId).toList());
+        outboxEventRepository.saveAll(sent);
+      });
+    }
+    return batch.claimed();
+  }
+
+  private Batch claimBatch() {
+    LocalDateTime now = LocalDateTime.now();
+    List<OutboxEvent> events = outboxEventRepository.findDueForUpdate(now,
+        Limit.of(batchSize));
+    if (events.isEmpty()) {
+      return new Batch(List.of(), List.of(), Map.of(), 0);
+    }
+
+    Map<UUID, Patient> patients = patientRepository
+        .findAllById(events.stream().map(OutboxEvent::getAggregateId)
+            .distinct().toList())
+        .stream()
+        .collect(Collectors.toMap(Patient::getId, Function.identity()));
+
+    List<OutboxEvent> billingEvents = new ArrayList<>();
+    List<OutboxEvent> patientEvents = new ArrayList<>();
+    LocalDateTime leaseExpiry = now.plus(lease);
+
+    for (OutboxEvent event : events) {
+      if (event.getEventType() == OutboxEventType.PATIENT_DELETED) {
+        patientEvents.add(event);
+      } else if (!patients.containsKey(event.getAggregateId())) {
+        // Patient was deleted before the side effect went out; nothing to do
+        markPublished(event);
+        continue;
+      } else if (event.getEventType() == OutboxEventType.CREATE_BILLING_ACCOUNT) {
+        billingEvents.add(event);
+      } else {
+        patientEvents.add(event);
+      }
+      event.setNextAttemptAt(leaseExpiry);
+    }
+    return new Batch(billingEvents, patientEvents, patients, events.size());
+  }
+
+  private CompletableFuture<BillingBatchResponse> sendBillingAccounts(
+      List<OutboxEvent> events, Map<UUID, Patient> patients) {
+    if (events.isEmpty()) {
+      return null;
+    }
+    try {
+      return billingServiceGrpcClient.createBillingAccountsAsync(events.stream()
+          .map(event -> patients.get(event.getAggregateId())).toList());
+    } catch (RuntimeException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+
+  private void completeBillingAccounts(List<OutboxEvent> events,
+      CompletableFuture<BillingBatchResponse> sent) {
+    if (events.isEmpty()) {
+      return;
+    }
+
+    BillingBatchResponse response;
+    try {
+      // Bounded by the RPC deadline
+      response = sent.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      events.forEach(event -> scheduleRetry(event, "Interrupted while sending"));
+      return;
+    } catch (ExecutionException e) {
+      events.forEach(event -> scheduleRetry(event, e.getCause().getMessage()));
+      return;
+    }
+
+    if (response.getResponsesCount() != events.size()) {
+      log.warn("Billing service returned {} responses for {} requests",
+          response.getResponsesCount(), events.size());
+    }
+    for (int i = 0; i < events.size(); i++) {
+      if (i >= response.getResponsesCount()) {
+        scheduleRetry(events.get(i), "Billing service returned no response");
+      } else if ("FAILED".equals(response.getResponses(i).getStatus())) {
+        scheduleRetry(events.get(i), "Billing service returned FAILED");
+      } else {
+        markPublished(events.get(i));
+      }
+    }
+  }
+
+  private void relayPatientEvents(List<OutboxEvent> events,
+      Map<UUID, Patient> patients) {
+    List<CompletableFuture<?>> sends = new ArrayList<>(events.size());
+
+    // At most one event per patient is claimed at a time (see
+    // findDueForUpdate), and keying by patient ID keeps them ordered in Kafka
+    for (OutboxEvent event : events) {
+      Instant occurredAt = event.getCreatedAt().atZone(ZoneId.systemDefault())
+          .toInstant();
+      try {
+        if (event.getEventType() == OutboxEventType.PATIENT_DELETED) {
+          sends.add(kafkaProducer.sendDeletedEvent(event.getAggregateId(),
+              occurredAt));
+        } else {
+          sends.add(kafkaProducer.sendEvent(
+              patients.get(event.getAggregateId()),
+              event.getEventType().name(), occurredAt));
+        }
+      } catch (RuntimeException e) {
+        sends.add(CompletableFuture.failedFuture(e));
+      }
+    }
+
+    for (int i = 0; i < events.size(); i++) {
+      try {
+        sends.get(i).get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        markPublished(events.get(i));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        scheduleRetry(events.get(i), "Interrupted while sending");
+      } catch (Exception e) {
+        scheduleRetry(events.get(i), e.getMessage());
+      }
+    }
+  }
+
+  private void markPublished(OutboxEvent event) {
+    event.setStatus(OutboxStatus.PUBLISHED);
+    event.setPublishedAt(LocalDateTime.now());
+    event.setLastError(null);
+  }
+
+  private void scheduleRetry(OutboxEvent event, String error) {
+    int attempts = event.getAttempts() + 1;
+    event.setAttempts(attempts);
+    event.setLastError(error == null ? null
+        : error.substring(0, Math.min(error.length(), 1000)));
+
+    if (attempts >= maxAttempts) {
+      event.setStatus(OutboxStatus.FAILED);
+      log.error("Giving up on outbox event {} ({}) for patient {} after {} attempts: {}",
+          event.getId(), event.getEventType(), event.getAggregateId(), attempts,
+          error);
+      return;
+    }
+
+    long backoffMillis = Math.min(maxBackoff.toMillis(),
+        initialBackoff.toMillis() << Math.min(attempts - 1, 20));
+    event.setNextAttemptAt(LocalDateTime.now().plusNanos(
+        backoffMillis * 1_000_000));
+    log.warn("Outbox event {} ({}) failed, retry {} in {} ms: {}",
+        event.getId(), event.getEventType(), attempts, backoffMillis, error);
+  }
+
+  private record Batch(List<OutboxEvent> billingEvents,
+                       List<OutboxEvent> patientEvents,
+                       Map<UUID, Patient> patients, int claimed) {
+  }
+}
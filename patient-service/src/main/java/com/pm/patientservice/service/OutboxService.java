@@ -0,0 +1,53 @@
+package com.pm.patientservice.service;
+
+import com.pm.patientservice.model.OutboxEvent;
+import com.pm.patientservice.model.OutboxEvent.OutboxEventType;
+import com.pm.patientservice.model.Patient;
+import com.pm.patientservice.repository.OutboxEventRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class OutboxService {
+
+  private final OutboxEventRepository outboxEventRepository;
+
+  public OutboxService(OutboxEventRepository outboxEventRepository) {
+    this.outboxEventRepository = outboxEventRepository;
+  }
+
+  /**
+   * Records the billing account and created-event side effects of new
+   * patients. Must join the transaction that inserts the patients so both
+   * commit or roll back together.
+   */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void enqueuePatientsCreated(List<Patient> patients) {
+    List<OutboxEvent> events = new ArrayList<>(patients.size() * 2);
+
+    for (Patient patient : patients) {
+      events.add(new OutboxEvent(patient.getId(),
+          OutboxEventType.CREATE_BILLING_ACCOUNT));
+      events.add(new OutboxEvent(patient.getId(),
+          OutboxEventType.PATIENT_CREATED));
+    }
+
+    outboxEventRepository.saveAll(events);
+  }
+
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void enqueuePatientUpdated(UUID patientId) {
+    outboxEventRepository.save(new OutboxEvent(patientId,
+        OutboxEventType.PATIENT_UPDATED));
+  }
+
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void enqueuePatientDeleted(UUID patientId) {
+    outboxEventRepository.save(new OutboxEvent(patientId,
+        OutboxEventType.PATIENT_DELETED));
+  }
+}
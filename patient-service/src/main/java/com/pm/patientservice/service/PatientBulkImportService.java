@@ -0,0 +1,292 @@
+package com.pm.patientservice.service;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import com.pm.patientservice.dto.BulkPatientImportResponseDTO;
+import com.pm.patientservice.dto.BulkPatientRowResultDTO;
+import com.pm.patientservice.dto.PatientRequestDTO;
+import com.pm.patientservice.dto.validators.CreatePatientValidationGroup;
+import com.pm.patientservice.exception.InvalidBulkImportException;
+import com.pm.patientservice.mapper.PatientMapper;
+import com.pm.patientservice.model.Patient;
+import com.pm.patientservice.repository.PatientRepository;
+import com.pm.patientservice.search.PatientSearchIndex;
+import com.pm.patientservice.util.PatientCsvReader;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import jakarta.validation.groups.Default;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+public class PatientBulkImportService {
+
+  private static final Logger log = LoggerFactory.getLogger(
+      PatientBulkImportService.class);
+
+  static final String STATUS_CREATED = "CREATED";
+  static final String STATUS_INVALID = "INVALID";
+  static final String STATUS_DUPLICATE_EMAIL = "DUPLICATE_EMAIL";
+  static final String STATUS_FAILED = "FAILED";
+
+  private final PatientRepository patientRepository;
+  private final OutboxService outboxService;
+  private final PatientSearchIndex patientSearchIndex;
+  private final EmailBloomFilter emailBloomFilter;
+  private final PatientTableVersion patientTableVersion;
+  private final Validator validator;
+  private final TransactionTemplate transactionTemplate;
+  private final EntityManager entityManager;
+  private final ObjectMapper objectMapper;
+  private final int batchSize;
+  private final int maxRows;
+
+  public PatientBulkImportService(PatientRepository patientRepository,
+      OutboxService outboxService,
+      PatientSearchIndex patientSearchIndex,
+      EmailBloomFilter emailBloomFilter,
+      PatientTableVersion patientTableVersion,
+      Validator validator,
+      TransactionTemplate transactionTemplate,
+      EntityManager entityManager,
+      ObjectMapper objectMapper,
+      @Value("${patient.bulk.batch-size:500}") int batchSize,
+      @Value("${patient.bulk.max-rows:50000}") int maxRows) {
+    this.patientRepository = patientRepository;
+    this.outboxService = outboxService;
+    this.patientSearchIndex = patientSearchIndex;
+    this.emailBloomFilter = emailBloomFilter;
+    this.patientTableVersion = patientTableVersion;
+    this.validator = validator;
+    this.transactionTemplate = transactionTemplate;
+    this.entityManager = entityManager;
+    this.objectMapper = objectMapper;
+    this.batchSize = batchSize;
+    this.maxRows = maxRows;
+  }
+
+  public BulkPatientImportResponseDTO importJson(InputStream body)
+      throws IOException {
+    try (MappingIterator<PatientRequestDTO> rows = objectMapper
+        .readerFor(PatientRequestDTO.class).readValues(body)) {
+      return importPatients(new Iterator<>() {
+        @Override
+        public boolean hasNext() {
+          try {
+            return rows.hasNext();
+          } catch (RuntimeJsonMappingException e) {
+            throw malformedJson(e);
+          }
+        }
+
+        @Override
+        public PatientRequestDTO next() {
+          try {
+            return rows.next();
+          } catch (RuntimeJsonMappingException e) {
+            throw malformedJson(e);
+          }
+        }
+      });
+    }
+  }
+
+  private static InvalidBulkImportException malformedJson(
+      RuntimeJsonMappingException e) {
+    return new InvalidBulkImportException(
+        "Malformed JSON array: " + e.getOriginalMessage());
+  }
+
+  public BulkPatientImportResponseDTO importCsv(InputStream body) {
+    return importPatients(new PatientCsvReader(body));
+  }
+
+  /**
+   * Imports rows in chunks of {@code patient.bulk.batch-size}. Each chunk costs
+   * one email lookup and one transaction of batched inserts; billing accounts
+   * and events are written to the outbox and relayed in batches.
+   *
+   * <p>Chunks commit as they go, so input that runs past
+   * {@code patient.bulk.max-rows} or turns malformed part-way does not fail
+   * the request: the rows read so far are imported and the response is marked
+   * truncated. Only input that is malformed before its first row is rejected.
+   */
+  BulkPatientImportResponseDTO importPatients(Iterator<PatientRequestDTO> rows) {
+    List<BulkPatientRowResultDTO> results = new ArrayList<>();
+    Set<String> seenEmails = new HashSet<>();
+    List<PendingRow> chunk = new ArrayList<>(batchSize);
+    int rowNumber = 0;
+    String truncationReason = null;
+
+    while (true) {
+      PatientRequestDTO request;
+      try {
+        if (!rows.hasNext()) {
+          break;
+        }
+        if (rowNumber == maxRows) {
+          truncationReason = "Bulk import is limited to " + maxRows
+              + " rows; later rows were not read";
+          break;
+        }
+        request = rows.next();
+      } catch (InvalidBulkImportException e) {
+        if (rowNumber == 0) {
+          throw e;
+        }
+        truncationReason = e.getMessage() + "; later rows were not read";
+        break;
+      }
+
+      chunk.add(new PendingRow(++rowNumber, request));
+      if (chunk.size() == batchSize) {
+        results.addAll(importChunk(chunk, seenEmails));
+        chunk.clear();
+      }
+    }
+    if (!chunk.isEmpty()) {
+      results.addAll(importChunk(chunk, seenEmails));
+    }
+
+    int created = (int) results.stream()
+        .filter(result -> STATUS_CREATED.equals(result.getStatus())).count();
+    if (truncationReason == null) {
+      log.info("Bulk import finished: {} rows, {} created", rowNumber, created);
+    } else {
+      log.warn("Bulk import truncated after {} rows, {} created: {}", rowNumber,
+          created, truncationReason);
+    }
+
+    return new BulkPatientImportResponseDTO(rowNumber, created,
+        rowNumber - created, results, truncationReason);
+  }
+
+  private List<BulkPatientRowResultDTO> importChunk(List<PendingRow> chunk,
+      Set<String> seenEmails) {
+
+    BulkPatientRowResultDTO[] results =
+        new BulkPatientRowResultDTO[chunk.size()];
+    List<Integer> candidateIndexes = new ArrayList<>();
+    List<Patient> candidates = new ArrayList<>();
+
+    for (int i = 0; i < chunk.size(); i++) {
+      PendingRow row = chunk.get(i);
+      String email = row.request().getEmail();
+
+      Set<ConstraintViolation<PatientRequestDTO>> violations = validator
+          .validate(row.request(), Default.class,
+              CreatePatientValidationGroup.class);
+      if (!violations.isEmpty()) {
+        results[i] = result(row, STATUS_INVALID, null, violations.stream()
+            .map(ConstraintViolation::getMessage)
+            .collect(Collectors.joining("; ")));
+        continue;
+      }
+
+      Patient patient;
+      try {
+        patient = PatientMapper.toModel(row.request());
+      } catch (DateTimeParseException e) {
+        results[i] = result(row, STATUS_INVALID, null,
+            "Invalid date: " + e.getParsedString());
+        continue;
+      }
+
+      if (!seenEmails.add(email)) {
+        results[i] = result(row, STATUS_DUPLICATE_EMAIL, null,
+            "Email appears more than once in this import");
+        continue;
+      }
+
+      candidateIndexes.add(i);
+      candidates.add(patient);
+    }
+
+    if (!candidates.isEmpty()) {
+      insertCandidates(chunk, candidateIndexes, candidates, results);
+    }
+
+    return List.of(results);
+  }
+
+  private void insertCandidates(List<PendingRow> chunk,
+      List<Integer> candidateIndexes, List<Patient> candidates,
+      BulkPatientRowResultDTO[] results) {
+
+    // Only emails the Bloom filter cannot rule out need the IN query
+    List<String> possiblyTaken = candidates.stream().map(Patient::getEmail)
+        .filter(emailBloomFilter::mightContain).toList();
+    Set<String> existingEmails = possiblyTaken.isEmpty() ? Set.of()
+        : patientRepository.findExistingEmails(possiblyTaken);
+
+    List<Integer> insertIndexes = new ArrayList<>();
+    List<Patient> toInsert = new ArrayList<>();
+    for (int c = 0; c < candidates.size(); c++) {
+      int i = candidateIndexes.get(c);
+      if (existingEmails.contains(candidates.get(c).getEmail())) {
+        results[i] = result(chunk.get(i), STATUS_DUPLICATE_EMAIL, null,
+            "A patient with this email already exists");
+      } else {
+        insertIndexes.add(i);
+        toInsert.add(candidates.get(c));
+      }
+    }
+
+    if (toInsert.isEmpty()) {
+      return;
+    }
+
+    try {
+      // UUID ids are assigned in memory, so Hibernate can group these into
+      // JDBC batches of hibernate.jdbc.batch_size
+      transactionTemplate.executeWithoutResult(status -> {
+        patientRepository.saveAll(toInsert);
+        outboxService.enqueuePatientsCreated(toInsert);
+        patientSearchIndex.upsertAfterCommit(toInsert);
+        emailBloomFilter.addAfterCommit(
+            toInsert.stream().map(Patient::getEmail).toList());
+        patientTableVersion.bumpAfterCommit();
+      });
+    } catch (DataIntegrityViolationException e) {
+      log.warn("Bulk insert chunk rejected: {}", e.getMostSpecificCause()
+          .getMessage());
+      for (int i : insertIndexes) {
+        results[i] = result(chunk.get(i), STATUS_FAILED, null,
+            "Rejected by database constraint, retry this row");
+      }
+      return;
+    } finally {
+      entityManager.clear();
+    }
+
+    for (int c = 0; c < toInsert.size(); c++) {
+      int i = insertIndexes.get(c);
+      results[i] = result(chunk.get(i), STATUS_CREATED,
+          toInsert.get(c).getId().toString(), null);
+    }
+  }
+
+  private static BulkPatientRowResultDTO result(PendingRow row, String status,
+      String patientId, String message) {
+    return new BulkPatientRowResultDTO(row.rowNumber(),
+        row.request().getEmail(), status, patientId, message);
+  }
+
+  private record PendingRow(int rowNumber, PatientRequestDTO request) {
+  }
+}
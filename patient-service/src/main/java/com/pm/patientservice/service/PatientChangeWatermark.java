@@ -0,0 +1,47 @@
+package com.pm.patientservice.service;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Highest change version the feed may serve. Writers draw change versions
+ * without waiting for each other (see data.sql), so a transaction still in
+ * flight may hold versions below ones that are already visible. Each writing
+ * transaction advertises the sequence position it started from as a shared
+ * advisory lock; its versions all lie above that key.
+ *
+ * <p>Must be read outside a transaction, on the primary, before the snapshot
+ * that reads the changes. A writer whose lock is not seen here either
+ * committed before that snapshot or draws above the sequence value read
+ * first.
+ */
+@Component
+public class PatientChangeWatermark {
+
+  private static final String LAST_ISSUED = """
+      SELECT CASE WHEN is_called THEN last_value ELSE 0 END
+      FROM patient_change_seq""";
+
+  private static final String LOWEST_IN_FLIGHT = """
+      SELECT min((classid::bigint << 32) | objid::bigint)
+      FROM pg_locks
+      WHERE locktype = 'advisory' AND objsubid = 1 AND mode = 'ShareLock'
+        AND database = (SELECT oid FROM pg_database
+                        WHERE datname = current_database())""";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public PatientChangeWatermark(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /** Versions up to and including the returned one are final. */
+  public long safeVersion() {
+    // Order matters: the sequence first, then the in-flight writers
+    Long lastIssued = jdbcTemplate.queryForObject(LAST_ISSUED, Long.class);
+    Long lowestInFlight = jdbcTemplate.queryForObject(LOWEST_IN_FLIGHT,
+        Long.class);
+    long safe = lastIssued == null ? 0 : lastIssued;
+    return lowestInFlight == null ? safe : Math.min(safe, lowestInFlight);
+  }
+}
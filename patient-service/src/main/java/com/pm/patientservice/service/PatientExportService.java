@@ -0,0 +1,85 @@
+package com.pm.patientservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.pm.patientservice.dto.PatientResponseDTO;
+import com.pm.patientservice.mapper.PatientMapper;
+import com.pm.patientservice.model.Patient;
+import com.pm.patientservice.repository.PatientRepository;
+import jakarta.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class PatientExportService {
+
+  private static final Logger log = LoggerFactory.getLogger(
+      PatientExportService.class);
+  private static final int FLUSH_EVERY = 1000;
+
+  private final PatientRepository patientRepository;
+  private final EntityManager entityManager;
+  private final ObjectWriter patientWriter;
+
+  public PatientExportService(PatientRepository patientRepository,
+      EntityManager entityManager, ObjectMapper objectMapper) {
+    this.patientRepository = patientRepository;
+    this.entityManager = entityManager;
+    this.patientWriter = objectMapper.writerFor(PatientResponseDTO.class);
+  }
+
+  /**
+   * Writes every patient as one JSON object per line. Rows come from a JDBC
+   * cursor and are detached as soon as they are written, so heap use does not
+   * grow with the table.
+   */
+  @Transactional(readOnly = true)
+  public void exportPatients(OutputStream out) throws IOException {
+    long count = 0;
+
+    try (Stream<Patient> patients = patientRepository.streamAllOrderByRegisteredDate()) {
+      Iterator<Patient> iterator = patients.iterator();
+      while (iterator.hasNext()) {
+        Patient patient = iterator.next();
+        out.write(patientWriter.writeValueAsBytes(PatientMapper.toDTO(patient)));
+        out.write('\n');
+        entityManager.detach(patient);
+
+        if (++count % FLUSH_EVERY == 0) {
+          out.flush();
+        }
+      }
+    }
+
+    out.flush();
+    log.info("Exported {} patients", count);
+  }
+
+  /**
+   * Hands every patient to {@code consumer} in registration order, reading
+   * from the same cursor as {@link #exportPatients(OutputStream)}.
+   */
+  @Transactional(readOnly = true)
+  public long forEachPatient(Consumer<PatientResponseDTO> consumer) {
+    long count = 0;
+
+    try (Stream<Patient> patients = patientRepository.streamAllOrderByRegisteredDate()) {
+      Iterator<Patient> iterator = patients.iterator();
+      while (iterator.hasNext()) {
+        Patient patient = iterator.next();
+        consumer.accept(PatientMapper.toDTO(patient));
+        entityManager.detach(patient);
+        count++;
+      }
+    }
+
+    return count;
+  }
+}
@@ -1,90 +1,300 @@
 package com.pm.patientservice.service;
 
+import com.pm.patientservice.config.CacheConfig;
+import com.pm.patientservice.config.ReplicaRoutingDataSource;
+import com.pm.patientservice.dto.PatientChangeDTO;
+import com.pm.patientservice.dto.PatientChangesResponseDTO;
+import com.pm.patientservice.dto.PatientPageResponseDTO;
 import com.pm.patientservice.dto.PatientRequestDTO;
 import com.pm.patientservice.dto.PatientResponseDTO;
+import com.pm.patientservice.dto.PatientSearchResultDTO;
 import com.pm.patientservice.exception.EmailAlreadyExistsException;
+import com.pm.patientservice.exception.InvalidBatchRequestException;
+import com.pm.patientservice.exception.InvalidPageRequestException;
 import com.pm.patientservice.exception.PatientNotFoundException;
-import com.pm.patientservice.grpc.BillingServiceGrpcClient;
-import com.pm.patientservice.kafka.KafkaProducer;
-import com.pm.patientservice.kafka.PatientEventPublisher;
-import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.CacheEvict;
 import com.pm.patientservice.mapper.PatientMapper;
 import com.pm.patientservice.model.Patient;
+import com.pm.patientservice.model.PatientTombstone;
 import com.pm.patientservice.repository.PatientRepository;
+import com.pm.patientservice.repository.PatientSpecifications;
+import com.pm.patientservice.repository.PatientTombstoneRepository;
+import com.pm.patientservice.search.PatientSearchIndex;
+import com.pm.patientservice.util.PatientCursor;
+import com.pm.patientservice.util.PatientField;
+import com.pm.patientservice.util.PatientSortField;
+import jakarta.persistence.Tuple;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 public class PatientService {
 
   private final PatientRepository patientRepository;
-  private final BillingServiceGrpcClient billingServiceGrpcClient;
-  private final KafkaProducer kafkaProducer;
-  private final PatientEventPublisher patientEventPublisher;
+  private final PatientTombstoneRepository patientTombstoneRepository;
+  private final OutboxService outboxService;
+  private final PatientSearchIndex patientSearchIndex;
+  private final EmailBloomFilter emailBloomFilter;
+  private final PatientTableVersion patientTableVersion;
+  private final PatientChangeWatermark patientChangeWatermark;
+  private final TransactionTemplate changeFeedTransaction;
+  private final int defaultPageSize;
+  private final int maxPageSize;
+  private final int unpagedLimit;
+  private final int batchMaxIds;
+  private final int defaultSearchLimit;
+  private final int maxSearchLimit;
 
   public PatientService(PatientRepository patientRepository,
-      BillingServiceGrpcClient billingServiceGrpcClient,
-      KafkaProducer kafkaProducer,
-      PatientEventPublisher patientEventPublisher) {
+      PatientTombstoneRepository patientTombstoneRepository,
+      OutboxService outboxService,
+      PatientSearchIndex patientSearchIndex,
+      EmailBloomFilter emailBloomFilter,
+      PatientTableVersion patientTableVersion,
+      PatientChangeWatermark patientChangeWatermark,
+      PlatformTransactionManager transactionManager,
+      @Value("${patient.page.default-size:50}") int defaultPageSize,
+      @Value("${patient.page.max-size:500}") int maxPageSize,
+      @Value("${patient.list.unpaged-limit:5000}") int unpagedLimit,
+      @Value("${patient.batch.max-ids:1000}") int batchMaxIds,
+      @Value("${patient.search.default-limit:20}") int defaultSearchLimit,
+      @Value("${patient.search.max-limit:100}") int maxSearchLimit) {
     this.patientRepository = patientRepository;
-    this.billingServiceGrpcClient = billingServiceGrpcClient;
-    this.kafkaProducer = kafkaProducer;
-    this.patientEventPublisher = patientEventPublisher;
+    this.patientTombstoneRepository = patientTombstoneRepository;
+    this.outboxService = outboxService;
+    this.patientSearchIndex = patientSearchIndex;
+    this.emailBloomFilter = emailBloomFilter;
+    this.patientTableVersion = patientTableVersion;
+    this.patientChangeWatermark = patientChangeWatermark;
+    this.changeFeedTransaction = new TransactionTemplate(transactionManager);
+    this.changeFeedTransaction.setReadOnly(true);
+    this.changeFeedTransaction.setIsolationLevel(
+        TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    this.defaultPageSize = defaultPageSize;
+    this.maxPageSize = maxPageSize;
+    this.unpagedLimit = unpagedLimit;
+    this.batchMaxIds = batchMaxIds;
+    this.defaultSearchLimit = defaultSearchLimit;
+    this.maxSearchLimit = maxSearchLimit;
+  }
+
+  @Transactional(readOnly = true)
+  public PatientPageResponseDTO getPatients(String after, Integer limit,
+      String sort, String name, LocalDate registeredFrom,
+      LocalDate registeredTo, String fields) {
+
+    PatientSortField sortField = PatientSortField.fromParam(sort);
+    PatientCursor cursor = after == null || after.isBlank() ? null
+        : PatientCursor.decode(after, sortField);
+
+    Specification<Patient> spec = Specification.allOf(
+        PatientSpecifications.nameContains(name),
+        PatientSpecifications.registeredOnOrAfter(registeredFrom),
+        PatientSpecifications.registeredOnOrBefore(registeredTo),
+        PatientSpecifications.after(cursor));
+
+    // Served under an ETag that tracks primary commits, so read the primary
+    return ReplicaRoutingDataSource.onPrimary(() -> fetchPage(spec, sortField,
+        resolvePageSize(limit), PatientField.parse(fields)));
+  }
+
+  /**
+   * Unpaged listing kept for legacy callers. Still a single bounded query:
+   * anything beyond {@code patient.list.unpaged-limit} rows is reported via
+   * {@code hasMore}/{@code nextCursor} rather than loaded.
+   */
+  @Transactional(readOnly = true)
+  public PatientPageResponseDTO getPatientsUnpaged(String fields) {
+    return ReplicaRoutingDataSource.onPrimary(() -> fetchPage(
+        Specification.allOf(), PatientSortField.REGISTERED_DATE, unpagedLimit,
+        PatientField.parse(fields)));
+  }
+
+  /**
+   * Full-row page in registration order, after the cursor {@code after} (null
+   * for the first page). For internal streaming: each page is its own short
+   * transaction, possibly on the replica, so consecutive pages are not one
+   * snapshot.
+   */
+  @Transactional(readOnly = true)
+  public PatientPageResponseDTO getPatientsAfter(String after, int pageSize) {
+    PatientCursor cursor = after == null ? null
+        : PatientCursor.decode(after, PatientSortField.REGISTERED_DATE);
+    return fetchPage(PatientSpecifications.after(cursor),
+        PatientSortField.REGISTERED_DATE, pageSize, null);
   }
 
-  @Cacheable("patients")
-  public List<PatientResponseDTO> getPatients() {
-    List<Patient> patients = patientRepository.findAll();
+  /**
+   * Returns upserts and deletions with a change version above
+   * {@code sinceVersion}, oldest first. Only versions up to the
+   * {@link PatientChangeWatermark} are served, so resuming from
+   * {@code nextSinceVersion} never skips a change that commits later. The
+   * watermark is read first, then both tables from one snapshot on the
+   * primary.
+   */
+  public PatientChangesResponseDTO getChanges(long sinceVersion,
+      Integer limit) {
+    if (sinceVersion < 0) {
+      throw new InvalidPageRequestException("sinceVersion must not be negative");
+    }
+    int pageSize = resolvePageSize(limit);
+    long safeVersion = patientChangeWatermark.safeVersion();
+
+    List<PatientChangeDTO> changes = ReplicaRoutingDataSource.onPrimary(
+        () -> changeFeedTransaction.execute(status -> {
+          List<PatientChangeDTO> read = new ArrayList<>();
+          for (Patient patient : patientRepository
+              .findByChangeVersionBetweenOrderByChangeVersion(sinceVersion + 1,
+                  safeVersion, Limit.of(pageSize + 1))) {
+            read.add(new PatientChangeDTO(patient.getChangeVersion(), "UPSERT",
+                patient.getId().toString(), PatientMapper.toDTO(patient)));
+          }
+          for (PatientTombstone tombstone : patientTombstoneRepository
+              .findByChangeVersionBetweenOrderByChangeVersion(sinceVersion + 1,
+                  safeVersion, Limit.of(pageSize + 1))) {
+            read.add(new PatientChangeDTO(tombstone.getChangeVersion(), "DELETE",
+                tombstone.getPatientId().toString(), null));
+          }
+          return read;
+        }));
+    changes.sort(Comparator.comparingLong(PatientChangeDTO::getVersion));
+
+    boolean hasMore = changes.size() > pageSize;
+    List<PatientChangeDTO> page = hasMore ? changes.subList(0, pageSize)
+        : changes;
+    long nextSinceVersion = page.isEmpty() ? sinceVersion
+        : page.get(page.size() - 1).getVersion();
 
-    return patients.stream().map(PatientMapper::toDTO).toList();
+    return new PatientChangesResponseDTO(new ArrayList<>(page),
+        nextSinceVersion, hasMore);
   }
 
+  @Transactional(readOnly = true)
+  @Cacheable(cacheNames = CacheConfig.PATIENTS_CACHE, key = "#id.toString()")
   public PatientResponseDTO getPatientById(UUID id) {
-    Patient patient = patientRepository.findById(id).orElseThrow(
+    // A lagging replica could re-cache a row that was just updated or deleted
+    Patient patient = ReplicaRoutingDataSource.onPrimary(
+        () -> patientRepository.findById(id)).orElseThrow(
         () -> new PatientNotFoundException("Patient not found with ID: " + id));
     return PatientMapper.toDTO(patient);
   }
 
-  @CacheEvict(value = "patients", allEntries = true)
-  public PatientResponseDTO createPatient(PatientRequestDTO patientRequestDTO) {
-    if (patientRepository.existsByEmail(patientRequestDTO.getEmail())) {
-      throw new EmailAlreadyExistsException(
-          "A patient with this email " + "already exists"
-              + patientRequestDTO.getEmail());
+  /**
+   * Selects only the requested columns. Bypasses the patient cache, which
+   * holds full DTOs.
+   */
+  @Transactional(readOnly = true)
+  public PatientResponseDTO getPatientById(UUID id, String fields) {
+    Set<PatientField> selected = PatientField.parse(fields);
+    if (selected == null) {
+      selected = EnumSet.allOf(PatientField.class);
     }
 
-    Patient newPatient = patientRepository.save(
-        PatientMapper.toModel(patientRequestDTO));
+    Set<PatientField> columns = selected;
+    List<Tuple> rows = ReplicaRoutingDataSource.onPrimary(
+        () -> patientRepository.findTuples(PatientSpecifications.hasId(id),
+            Sort.unsorted(), attributes(columns), 1));
+    if (rows.isEmpty()) {
+      throw new PatientNotFoundException("Patient not found with ID: " + id);
+    }
+    return PatientMapper.toDTO(rows.get(0), selected);
+  }
 
-    billingServiceGrpcClient.createBillingAccount(
-        newPatient.getId().toString(),
-        newPatient.getName(), 
-        newPatient.getEmail(),
-        newPatient.getDateOfBirth().toString(),
-        newPatient.getAddress());
+  public List<PatientSearchResultDTO> searchPatients(String query,
+      Integer limit) {
+    if (query == null || query.isBlank()) {
+      throw new InvalidPageRequestException("q must not be blank");
+    }
+    int resultLimit = limit == null ? defaultSearchLimit
+        : Math.min(Math.max(limit, 1), maxSearchLimit);
+    return patientSearchIndex.search(query, resultLimit);
+  }
 
-    kafkaProducer.sendEvent(newPatient);
-    
-    // Publish event for notification service
-    patientEventPublisher.publishPatientCreatedEvent(newPatient);
+  /**
+   * Resolves up to {@code patient.batch.max-ids} distinct IDs with one IN
+   * query. The map follows the request order; unknown IDs are left out.
+   */
+  @Transactional(readOnly = true)
+  public Map<String, PatientResponseDTO> getPatientsByIds(List<UUID> ids) {
+    Set<UUID> distinctIds = new LinkedHashSet<>(ids);
+    if (distinctIds.contains(null)) {
+      throw new InvalidBatchRequestException("ids must not contain null");
+    }
+    if (distinctIds.size() > batchMaxIds) {
+      throw new InvalidBatchRequestException(
+          "At most " + batchMaxIds + " ids can be requested at once");
+    }
+
+    Map<UUID, Patient> found = patientRepository.findAllById(distinctIds)
+        .stream()
+        .collect(Collectors.toMap(Patient::getId, Function.identity()));
+
+    Map<String, PatientResponseDTO> patients = new LinkedHashMap<>();
+    for (UUID id : distinctIds) {
+      Patient patient = found.get(id);
+      if (patient != null) {
+        patients.put(id.toString(), PatientMapper.toDTO(patient));
+      }
+    }
+    return patients;
+  }
+
+  @Transactional
+  @CachePut(cacheNames = CacheConfig.PATIENTS_CACHE, key = "#result.id")
+  public PatientResponseDTO createPatient(PatientRequestDTO patientRequestDTO) {
+    String email = patientRequestDTO.getEmail();
+    if (emailBloomFilter.isTaken(email,
+        () -> patientRepository.existsByEmail(email))) {
+      throw emailAlreadyExists(email);
+    }
+
+    Patient newPatient = saveAndFlush(PatientMapper.toModel(patientRequestDTO));
+
+    // Billing account and events are delivered by OutboxRelay after commit
+    outboxService.enqueuePatientsCreated(List.of(newPatient));
+    patientSearchIndex.upsertAfterCommit(List.of(newPatient));
+    emailBloomFilter.addAfterCommit(List.of(email));
+    patientTableVersion.bumpAfterCommit();
 
     return PatientMapper.toDTO(newPatient);
   }
 
+  @Transactional
+  @CachePut(cacheNames = CacheConfig.PATIENTS_CACHE, key = "#id.toString()")
   public PatientResponseDTO updatePatient(UUID id,
       PatientRequestDTO patientRequestDTO) {
 
     Patient patient = patientRepository.findById(id).orElseThrow(
         () -> new PatientNotFoundException("Patient not found with ID: " + id));
 
-    if (patientRepository.existsByEmailAndIdNot(patientRequestDTO.getEmail(),
-        id)) {
-      throw new EmailAlreadyExistsException(
-          "A patient with this email " + "already exists"
-              + patientRequestDTO.getEmail());
+    String email = patientRequestDTO.getEmail();
+    boolean emailChanged = !email.equals(patient.getEmail());
+    if (emailChanged && emailBloomFilter.isTaken(email,
+        () -> patientRepository.existsByEmailAndIdNot(email, id))) {
+      throw emailAlreadyExists(email);
     }
 
     patient.setName(patientRequestDTO.getName());
@@ -92,11 +302,122 @@ public class PatientService {
     patient.setEmail(patientRequestDTO.getEmail());
     patient.setDateOfBirth(LocalDate.parse(patientRequestDTO.getDateOfBirth()));
 
-    Patient updatedPatient = patientRepository.save(patient);
+    Patient updatedPatient = saveAndFlush(patient);
+    outboxService.enqueuePatientUpdated(id);
+    patientSearchIndex.upsertAfterCommit(List.of(updatedPatient));
+    if (emailChanged) {
+      emailBloomFilter.addAfterCommit(List.of(email));
+    }
+    patientTableVersion.bumpAfterCommit();
     return PatientMapper.toDTO(updatedPatient);
   }
 
+  @Transactional
+  @CacheEvict(cacheNames = CacheConfig.PATIENTS_CACHE, key = "#id.toString()")
   public void deletePatient(UUID id) {
-    patientRepository.deleteById(id);
+    patientRepository.findById(id).ifPresent(patient -> {
+      patientRepository.delete(patient);
+      patientTombstoneRepository.save(new PatientTombstone(id));
+      outboxService.enqueuePatientDeleted(id);
+      patientSearchIndex.removeAfterCommit(id);
+      patientTableVersion.bumpAfterCommit();
+    });
+  }
+
+  /**
+   * Flushes so a unique-constraint violation surfaces here, where it can be
+   * reported as a duplicate email, rather than at commit.
+   */
+  private Patient saveAndFlush(Patient patient) {
+    try {
+      return patientRepository.saveAndFlush(patient);
+    } catch (DataIntegrityViolationException e) {
+      if (isEmailConflict(e)) {
+        throw emailAlreadyExists(patient.getEmail());
+      }
+      throw e;
+    }
+  }
+
+  private static boolean isEmailConflict(DataIntegrityViolationException e) {
+    for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+      if (cause instanceof ConstraintViolationException violation) {
+        return Patient.EMAIL_UNIQUE_CONSTRAINT.equalsIgnoreCase(
+            violation.getConstraintName());
+      }
+    }
+    return false;
+  }
+
+  private static EmailAlreadyExistsException emailAlreadyExists(String email) {
+    return new EmailAlreadyExistsException(
+        "A patient with this email " + "already exists" + email);
+  }
+
+  private PatientPageResponseDTO fetchPage(Specification<Patient> spec,
+      PatientSortField sortField, int pageSize, Set<PatientField> fields) {
+    if (fields != null) {
+      return fetchSparsePage(spec, sortField, pageSize, fields);
+    }
+
+    // Read one extra row to learn whether another page exists without a COUNT
+    List<Patient> rows = patientRepository.findBy(spec,
+        query -> query.sortBy(sortField.getSort()).limit(pageSize + 1).all());
+
+    boolean hasMore = rows.size() > pageSize;
+    List<Patient> page = hasMore ? rows.subList(0, pageSize) : rows;
+    String nextCursor = hasMore
+        ? PatientCursor.of(sortField, page.get(page.size() - 1)).encode()
+        : null;
+
+    return new PatientPageResponseDTO(
+        page.stream().map(PatientMapper::toDTO).toList(), nextCursor, hasMore);
+  }
+
+  /**
+   * Same page as {@link #fetchPage} but selecting only the requested columns
+   * plus the sort key needed for the next cursor.
+   */
+  private PatientPageResponseDTO fetchSparsePage(Specification<Patient> spec,
+      PatientSortField sortField, int pageSize, Set<PatientField> fields) {
+    Set<String> attributes = attributes(fields);
+    attributes.add("id");
+    if (sortField == PatientSortField.REGISTERED_DATE) {
+      attributes.add("registeredDate");
+    }
+
+    List<Tuple> rows = patientRepository.findTuples(spec, sortField.getSort(),
+        attributes, pageSize + 1);
+
+    boolean hasMore = rows.size() > pageSize;
+    List<Tuple> page = hasMore ? rows.subList(0, pageSize) : rows;
+    String nextCursor = null;
+    if (hasMore) {
+      Tuple last = page.get(page.size() - 1);
+      LocalDate registeredDate = sortField == PatientSortField.REGISTERED_DATE
+          ? last.get("registeredDate", LocalDate.class) : null;
+      nextCursor = PatientCursor.of(sortField, registeredDate,
+          last.get("id", UUID.class)).encode();
+    }
+
+    return new PatientPageResponseDTO(
+        page.stream().map(row -> PatientMapper.toDTO(row, fields)).toList(),
+        nextCursor, hasMore);
+  }
+
+  private static Set<String> attributes(Set<PatientField> fields) {
+    Set<String> attributes = new LinkedHashSet<>();
+    fields.forEach(field -> attributes.add(field.getAttribute()));
+    return attributes;
+  }
+
+  private int resolvePageSize(Integer limit) {
+    if (limit == null) {
+      return defaultPageSize;
+    }
+    if (limit < 1) {
+      throw new InvalidPageRequestException("limit must be at least 1");
+    }
+    return Math.min(limit, maxPageSize);
   }
 }
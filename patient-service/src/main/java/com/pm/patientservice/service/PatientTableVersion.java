@@ -0,0 +1,106 @@
+package com.pm.patientservice.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.protobuf.ProtobufHttpMessageConverter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.MimeTypeUtils;
+
+/**
+ * In-memory version of the patient table, bumped after every committed patient
+ * write, used as the strong ETag for patient reads; answering a conditional
+ * GET never touches the database. Seeded once at startup from the latest
+ * committed change version. The startup time is part of the tag so a restart
+ * never revalidates an older response. Assumes writes go through this
+ * instance, which is how patient-service is deployed.
+ *
+ * <p>Each encoding of a response gets its own tag, since JSON, CBOR and
+ * protobuf bodies differ byte for byte.
+ */
+@Component
+public class PatientTableVersion {
+
+  private static final MediaType CBOR = MediaType.APPLICATION_CBOR;
+  private static final MediaType PROTOBUF = ProtobufHttpMessageConverter.PROTOBUF;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final long epoch = System.currentTimeMillis();
+  private final AtomicLong version = new AtomicLong();
+
+  public PatientTableVersion(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void seed() {
+    Long latest = jdbcTemplate.queryForObject("""
+        SELECT GREATEST(
+            (SELECT max(change_version) FROM patient),
+            (SELECT max(change_version) FROM patient_tombstone))""",
+        Long.class);
+    if (latest != null) {
+      version.accumulateAndGet(latest, Math::max);
+    }
+  }
+
+  /** Tag for the encoding that the given {@code Accept} header negotiates. */
+  public String etag(String accept) {
+    return "\"patients-" + epoch + "-" + version.get() + "-"
+        + encoding(accept) + "\"";
+  }
+
+  public void bumpAfterCommit() {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      version.incrementAndGet();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            version.incrementAndGet();
+          }
+        });
+  }
+
+  // Mirrors content negotiation: the most preferred acceptable type decides,
+  // and wildcards get JSON, the first converter registered
+  private static String encoding(String accept) {
+    List<MediaType> acceptable;
+    try {
+      acceptable = accept == null ? List.of(MediaType.ALL)
+          : new ArrayList<>(MediaType.parseMediaTypes(accept));
+    } catch (InvalidMediaTypeException e) {
+      return "json";
+    }
+    MimeTypeUtils.sortBySpecificity(acceptable);
+
+    for (MediaType type : acceptable) {
+      if (type.getQualityValue() == 0) {
+        continue;
+      }
+      if (type.isWildcardSubtype() && type.includes(MediaType.APPLICATION_JSON)) {
+        return "json";
+      }
+      if (type.isCompatibleWith(PROTOBUF)) {
+        return "protobuf";
+      }
+      if (type.isCompatibleWith(CBOR)) {
+        return "cbor";
+      }
+      if (type.isCompatibleWith(MediaType.APPLICATION_JSON)
+          || "json".equals(type.getSubtypeSuffix())) {
+        return "json";
+      }
+    }
+    return "json";
+  }
+}
@@ -0,0 +1,139 @@
+package com.pm.patientservice.util;
+
+import com.pm.patientservice.dto.PatientRequestDTO;
+import com.pm.patientservice.exception.InvalidBulkImportException;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads patients from a CSV stream one line at a time. The first line must be
+ * a header naming the columns name, email, address, dateOfBirth and
+ * registeredDate (any order). Quoted fields with embedded commas are supported.
+ */
+public class PatientCsvReader implements Iterator<PatientRequestDTO> {
+
+  private static final List<String> COLUMNS = List.of("name", "email",
+      "address", "dateOfBirth", "registeredDate");
+
+  private final BufferedReader reader;
+  private final Map<String, Integer> columnIndex = new HashMap<>();
+  private String nextLine;
+  private int lineNumber;
+
+  public PatientCsvReader(InputStream in) {
+    this.reader = new BufferedReader(
+        new InputStreamReader(in, StandardCharsets.UTF_8));
+
+    String header = readLine();
+    if (header == null) {
+      throw new InvalidBulkImportException("CSV body is empty");
+    }
+    if (header.startsWith("\uFEFF")) {
+      header = header.substring(1);
+    }
+
+    List<String> headerFields = parseLine(header);
+    for (int i = 0; i < headerFields.size(); i++) {
+      columnIndex.put(headerFields.get(i).trim(), i);
+    }
+    for (String column : COLUMNS) {
+      if (!columnIndex.containsKey(column)) {
+        throw new InvalidBulkImportException(
+            "CSV header is missing column: " + column);
+      }
+    }
+
+    advance();
+  }
+
+  @Override
+  public boolean hasNext() {
+    return nextLine != null;
+  }
+
+  @Override
+  public PatientRequestDTO next() {
+    if (nextLine == null) {
+      throw new NoSuchElementException();
+    }
+
+    List<String> fields = parseLine(nextLine);
+    if (fields.size() < columnIndex.size()) {
+      throw new InvalidBulkImportException(
+          "Line " + lineNumber + ": expected " + columnIndex.size()
+              + " columns but found " + fields.size());
+    }
+
+    PatientRequestDTO patient = new PatientRequestDTO();
+    patient.setName(field(fields, "name"));
+    patient.setEmail(field(fields, "email"));
+    patient.setAddress(field(fields, "address"));
+    patient.setDateOfBirth(field(fields, "dateOfBirth"));
+    patient.setRegisteredDate(field(fields, "registeredDate"));
+
+    advance();
+    return patient;
+  }
+
+  private String field(List<String> fields, String column) {
+    String value = fields.get(columnIndex.get(column)).trim();
+    return value.isEmpty() ? null : value;
+  }
+
+  private void advance() {
+    do {
+      nextLine = readLine();
+    } while (nextLine != null && nextLine.isBlank());
+  }
+
+  private String readLine() {
+    try {
+      String line = reader.readLine();
+      lineNumber++;
+      return line;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  static List<String> parseLine(String line) {
+    List<String> fields = new ArrayList<>();
+    StringBuilder current = new StringBuilder();
+    boolean quoted = false;
+
+    for (int i = 0; i < line.length(); i++) {
+      char c = line.charAt(i);
+
+      if (quoted) {
+        if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+          current.append('"');
+          i++;
+        } else if (c == '"') {
+          quoted = false;
+        } else {
+          current.append(c);
+        }
+      } else if (c == '"') {
+        quoted = true;
+      } else if (c == ',') {
+        fields.add(current.toString());
+        current.setLength(0);
+      } else {
+        current.append(c);
+      }
+    }
+
+    fields.add(current.toString());
+    return fields;
+  }
+}
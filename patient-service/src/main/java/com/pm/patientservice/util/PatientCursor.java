@@ -0,0 +1,86 @@
+package com.pm.patientservice.util;
+
+import com.pm.patientservice.exception.InvalidPageRequestException;
+import com.pm.patientservice.model.Patient;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque keyset cursor for patient listings. Encodes the sort key of the last
+ * row returned so the next page can continue with a seek instead of an OFFSET.
+ */
+public final class PatientCursor {
+
+  private static final String SEPARATOR = "|";
+
+  private final PatientSortField sortField;
+  private final LocalDate registeredDate;
+  private final UUID id;
+
+  private PatientCursor(PatientSortField sortField, LocalDate registeredDate,
+      UUID id) {
+    this.sortField = sortField;
+    this.registeredDate = registeredDate;
+    this.id = id;
+  }
+
+  public static PatientCursor of(PatientSortField sortField, Patient patient) {
+    return of(sortField, patient.getRegisteredDate(), patient.getId());
+  }
+
+  public static PatientCursor of(PatientSortField sortField,
+      LocalDate registeredDate, UUID id) {
+    return new PatientCursor(sortField, registeredDate, id);
+  }
+
+  public static PatientCursor decode(String encoded,
+      PatientSortField expectedSortField) {
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(encoded),
+          StandardCharsets.UTF_8);
+      String[] parts = raw.split("\\" + SEPARATOR);
+      PatientSortField sortField = PatientSortField.fromCode(parts[0]);
+
+      if (sortField != expectedSortField) {
+        throw new InvalidPageRequestException(
+            "Cursor was issued for sort '" + sortField.getParam()
+                + "' but sort '" + expectedSortField.getParam()
+                + "' was requested");
+      }
+
+      return switch (sortField) {
+        case ID -> new PatientCursor(sortField, null, UUID.fromString(parts[1]));
+        case REGISTERED_DATE -> new PatientCursor(sortField,
+            LocalDate.parse(parts[1]), UUID.fromString(parts[2]));
+      };
+    } catch (InvalidPageRequestException e) {
+      throw e;
+    } catch (RuntimeException e) {
+      throw new InvalidPageRequestException("Malformed cursor: " + encoded);
+    }
+  }
+
+  public String encode() {
+    String raw = switch (sortField) {
+      case ID -> sortField.getCode() + SEPARATOR + id;
+      case REGISTERED_DATE -> sortField.getCode() + SEPARATOR + registeredDate
+          + SEPARATOR + id;
+    };
+    return Base64.getUrlEncoder().withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  public PatientSortField getSortField() {
+    return sortField;
+  }
+
+  public LocalDate getRegisteredDate() {
+    return registeredDate;
+  }
+
+  public UUID getId() {
+    return id;
+  }
+}
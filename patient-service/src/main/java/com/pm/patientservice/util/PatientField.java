@@ -0,0 +1,52 @@
+package com.pm.patientservice.util;
+
+import com.pm.patientservice.exception.InvalidPageRequestException;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Fields selectable with {@code ?fields=}. Each maps to the {@code Patient}
+ * attribute of the same name, so only those columns are selected.
+ */
+public enum PatientField {
+  ID("id"),
+  NAME("name"),
+  EMAIL("email"),
+  ADDRESS("address"),
+  DATE_OF_BIRTH("dateOfBirth");
+
+  private final String param;
+
+  PatientField(String param) {
+    this.param = param;
+  }
+
+  /**
+   * Parses a comma-separated field list. Returns {@code null} when no list is
+   * given, meaning the full representation.
+   */
+  public static Set<PatientField> parse(String fields) {
+    if (fields == null || fields.isBlank()) {
+      return null;
+    }
+
+    Set<PatientField> selected = EnumSet.noneOf(PatientField.class);
+    for (String name : fields.split(",")) {
+      selected.add(fromParam(name.trim()));
+    }
+    return selected;
+  }
+
+  private static PatientField fromParam(String param) {
+    for (PatientField field : values()) {
+      if (field.param.equals(param)) {
+        return field;
+      }
+    }
+    throw new InvalidPageRequestException("Unsupported field: " + param);
+  }
+
+  public String getAttribute() {
+    return param;
+  }
+}
@@ -0,0 +1,53 @@
+package com.pm.patientservice.util;
+
+import com.pm.patientservice.exception.InvalidPageRequestException;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Sort orders supported by keyset pagination. Every order ends on the primary
+ * key so that the seek predicate is unique and rows are never skipped.
+ */
+public enum PatientSortField {
+  REGISTERED_DATE("registeredDate", "R", Sort.by("registeredDate", "id")),
+  ID("id", "I", Sort.by("id"));
+
+  private final String param;
+  private final String code;
+  private final Sort sort;
+
+  PatientSortField(String param, String code, Sort sort) {
+    this.param = param;
+    this.code = code;
+    this.sort = sort;
+  }
+
+  public static PatientSortField fromParam(String param) {
+    for (PatientSortField field : values()) {
+      if (field.param.equalsIgnoreCase(param)) {
+        return field;
+      }
+    }
+    throw new InvalidPageRequestException("Unsupported sort field: " + param);
+  }
+
+  static PatientSortField fromCode(String code) {
+    for (PatientSortField field : values()) {
+      if (field.code.equals(code)) {
+        return field;
+      }
+    }
+    throw new IllegalArgumentException("Unknown sort code: " + code);
+  }
+
+  public String getParam() {
+    return param;
+  }
+
+  String getCode() {
+    return code;
+  }
+
+  public Sort getSort() {
+    return sort;
+  }
+}
@@ -3,12 +3,81 @@ CREATE TABLE IF NOT EXISTS patient
 (
     id              UUID PRIMARY KEY,
     name            VARCHAR(255)        NOT NULL,
-    email           VARCHAR(255) UNIQUE NOT NULL,
+    email           VARCHAR(255)        NOT NULL,
     address         VARCHAR(255)        NOT NULL,
     date_of_birth   DATE                NOT NULL,
-    registered_date DATE                NOT NULL
+    registered_date DATE                NOT NULL,
+    change_version  BIGINT,
+    CONSTRAINT patient_email_unique UNIQUE (email)
 );
 
+-- Tables created before the constraint was named carry Postgres' default name;
+-- PatientService matches duplicate emails on patient_email_unique
+DO '
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_constraint WHERE conname = ''patient_email_key'') THEN
+        ALTER TABLE patient RENAME CONSTRAINT patient_email_key TO patient_email_unique;
+    END IF;
+END';
+
+-- Monotonic change versions for GET /patients/changes
+CREATE SEQUENCE IF NOT EXISTS patient_change_seq;
+
+ALTER TABLE patient ADD COLUMN IF NOT EXISTS change_version BIGINT;
+
+CREATE INDEX IF NOT EXISTS idx_patient_change_version
+    ON patient (change_version);
+
+CREATE TABLE IF NOT EXISTS patient_tombstone
+(
+    patient_id     UUID PRIMARY KEY,
+    change_version BIGINT       NOT NULL,
+    deleted_at     TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_patient_tombstone_change_version
+    ON patient_tombstone (change_version);
+
+-- Versions are drawn from patient_change_seq by a row trigger, so they reach
+-- the table in draw order, not commit order. Writers do not wait for each
+-- other. Instead, a transaction's first write records the sequence position it
+-- started from, as a shared advisory lock held until it ends. Every version it
+-- draws is above that key. PatientChangeWatermark serves only versions below
+-- the lowest such key, so the change feed never moves past a version that is
+-- still in flight.
+DROP TRIGGER IF EXISTS patient_change_lock ON patient;
+DROP TRIGGER IF EXISTS patient_change_lock ON patient_tombstone;
+DROP FUNCTION IF EXISTS patient_change_lock();
+
+CREATE OR REPLACE FUNCTION patient_change_version() RETURNS TRIGGER AS '
+DECLARE
+    change_floor BIGINT;
+BEGIN
+    IF coalesce(current_setting(''patient.change_floor'', true), ) =  THEN
+        SELECT CASE WHEN is_called THEN last_value ELSE last_value - 1 END
+        INTO change_floor
+        FROM patient_change_seq;
+        PERFORM pg_advisory_xact_lock_shared(change_floor);
+        PERFORM set_config(''patient.change_floor'', change_floor::text, true);
+    END IF;
+    NEW.change_version := nextval(''patient_change_seq'');
+    RETURN NEW;
+END' LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS patient_change_version ON patient;
+CREATE TRIGGER patient_change_version
+    BEFORE INSERT OR UPDATE ON patient
+    FOR EACH ROW EXECUTE FUNCTION patient_change_version();
+
+DROP TRIGGER IF EXISTS patient_change_version ON patient_tombstone;
+CREATE TRIGGER patient_change_version
+    BEFORE INSERT OR UPDATE ON patient_tombstone
+    FOR EACH ROW EXECUTE FUNCTION patient_change_version();
+
+-- Supports keyset pagination ordered by (registered_date, id)
+CREATE INDEX IF NOT EXISTS idx_patient_registered_date_id
+    ON patient (registered_date, id);
+
 -- Insert well-known UUIDs for specific patients
 INSERT INTO patient (id, name, email, address, date_of_birth, registered_date)
 SELECT '123e4567-e89b-12d3-a456-426614174000',
@@ -155,3 +224,8 @@ SELECT '223e4567-e89b-12d3-a456-426614174014',
        '1987-10-17',
        '2024-03-29'
 WHERE NOT EXISTS (SELECT 1 FROM patient WHERE id = '223e4567-e89b-12d3-a456-426614174014');
+
+-- Give pre-existing rows a change version (the trigger assigns it)
+UPDATE patient
+SET change_version = 0
+WHERE change_version IS NULL;
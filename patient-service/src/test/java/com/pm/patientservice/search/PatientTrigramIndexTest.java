@@ -0,0 +1,177 @@
+package com.pm.patientservice.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.pm.patientservice.dto.PatientSearchResultDTO;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class PatientTrigramIndexTest {
+
+  private static final UUID ALICE = new UUID(0, 1);
+  private static final UUID BOB = new UUID(0, 2);
+  private static final UUID CAROL = new UUID(0, 3);
+  private static final UUID SAL = new UUID(0, 4);
+
+  @Test
+  void longQueriesMatchSubstringsAndShortOnesTokenPrefixes() {
+    PatientTrigramIndex index = new PatientTrigramIndex(10_000);
+    index.upsert(ALICE, "Alice Smith", "alice@example.com");
+    index.upsert(BOB, "Bob Smithers", "bob@example.com");
+    index.upsert(CAROL, "Carol Jones", "carol@test.org");
+    index.upsert(SAL, "Sal Palmer", "sal@test.org");
+
+    assertThat(ids(index.search("mith", 10))).containsExactly(ALICE, BOB);
+    assertThat(ids(index.search("al", 10))).containsExactly(ALICE);
+    assertThat(ids(index.search("SMITHERS", 10))).containsExactly(BOB);
+    assertThat(ids(index.search("test.org", 10))).containsExactly(CAROL, SAL);
+    assertThat(ids(index.search("mith", 1))).containsExactly(ALICE);
+    assertThat(index.search("zzz", 10)).isEmpty();
+    assertThat(index.search("  ", 10)).isEmpty();
+  }
+
+  @Test
+  void multiTokenQueriesIntersectPostingLists() {
+    PatientTrigramIndex index = new PatientTrigramIndex(10_000);
+    index.upsert(ALICE, "Alice Smith", "alice@example.com");
+    index.upsert(BOB, "Bob Smithers", "bob@example.com");
+    index.upsert(CAROL, "Carol Smith", "carol@test.org");
+
+    assertThat(ids(index.search("smith test", 10))).containsExactly(CAROL);
+    assertThat(ids(index.search("b smith", 10))).containsExactly(BOB);
+    assertThat(index.search("smith nobody", 10)).isEmpty();
+  }
+
+  @Test
+  void candidatesHavingEveryTrigramButNotTheSubstringAreDropped() {
+    PatientTrigramIndex index = new PatientTrigramIndex(10_000);
+    // Contains "abc" and "bcx" but never "abcx"
+    index.upsert(ALICE, "Abcd Bcxe", "a@example.com");
+    index.upsert(BOB, "Abcx", "b@example.com");
+
+    assertThat(ids(index.search("abcx", 10))).containsExactly(BOB);
+  }
+
+  @Test
+  void updatesAndRemovesTombstoneTheOldDocument() {
+    PatientTrigramIndex index = new PatientTrigramIndex(10_000);
+    index.upsert(ALICE, "Alice Smith", "alice@example.com");
+    index.upsert(BOB, "Bob Jones", "bob@example.com");
+
+    index.upsert(ALICE, "Alice Walker", "alice@example.com");
+    assertThat(index.search("smith", 10)).isEmpty();
+    assertThat(ids(index.search("walker", 10))).containsExactly(ALICE);
+
+    index.remove(BOB);
+    assertThat(index.search("jones", 10)).isEmpty();
+    assertThat(index.documentCount()).isEqualTo(3);
+
+    // Re-adding the same text is not a change
+    index.upsert(ALICE, "Alice Walker", "alice@example.com");
+    assertThat(index.documentCount()).isEqualTo(3);
+  }
+
+  @Test
+  void compactionDropsTombstonesAndKeepsLiveDocumentsSearchable() {
+    PatientTrigramIndex index = new PatientTrigramIndex(2);
+    index.upsert(ALICE, "Alice Smith", "alice@example.com");
+    index.upsert(BOB, "Bob Smith", "bob@example.com");
+    index.upsert(CAROL, "Carol Smith", "carol@example.com");
+    index.upsert(SAL, "Sal Smith", "sal@example.com");
+
+    index.remove(BOB);
+    index.compactIfNeeded();
+    assertThat(index.documentCount()).isEqualTo(4);
+
+    index.remove(SAL);
+    index.compactIfNeeded();
+    assertThat(index.documentCount()).isEqualTo(2);
+    assertThat(ids(index.search("smith", 10))).containsExactly(ALICE, CAROL);
+
+    index.upsert(BOB, "Bob Smith", "bob@example.com");
+    assertThat(ids(index.search("smith", 10))).containsExactly(ALICE, CAROL,
+        BOB);
+  }
+
+  @Test
+  void matchesABruteForceScanThroughUpdatesRemovesAndCompactions() {
+    Random random = new Random(42);
+    PatientTrigramIndex index = new PatientTrigramIndex(20);
+    Map<UUID, String[]> live = new HashMap<>();
+    List<UUID> patients = new ArrayList<>();
+    for (int i = 0; i < 200; i++) {
+      patients.add(new UUID(1, i));
+    }
+
+    for (int step = 0; step < 3_000; step++) {
+      UUID id = patients.get(random.nextInt(patients.size()));
+      if (random.nextInt(4) == 0) {
+        index.remove(id);
+        index.compactIfNeeded();
+        live.remove(id);
+      } else {
+        String name = word(random) + " " + word(random);
+        String email = word(random) + "@" + word(random) + ".com";
+        index.upsert(id, name, email);
+        live.put(id, new String[]{name, email});
+      }
+
+      if (step % 10 == 0) {
+        String query = random.nextBoolean() ? word(random).substring(0, 2)
+            : word(random).substring(1) + " " + word(random).substring(0, 1);
+        assertThat(ids(index.search(query, Integer.MAX_VALUE)))
+            .as("query '%s' at step %d", query, step)
+            .containsExactlyInAnyOrderElementsOf(bruteForce(live, query));
+      }
+    }
+  }
+
+  private static List<UUID> bruteForce(Map<UUID, String[]> live, String query) {
+    List<String> queryTokens = tokens(query);
+    List<UUID> matches = new ArrayList<>();
+    for (Map.Entry<UUID, String[]> entry : live.entrySet()) {
+      String text = (entry.getValue()[0] + " " + entry.getValue()[1])
+          .toLowerCase(Locale.ROOT);
+      boolean all = true;
+      for (String token : queryTokens) {
+        boolean found = token.length() >= 3 ? text.contains(token)
+            : tokens(text).stream().anyMatch(t -> t.startsWith(token));
+        all &= found;
+      }
+      if (all) {
+        matches.add(entry.getKey());
+      }
+    }
+    return matches;
+  }
+
+  private static List<String> tokens(String s) {
+    List<String> tokens = new ArrayList<>();
+    for (String token : s.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+      if (!token.isEmpty()) {
+        tokens.add(token);
+      }
+    }
+    return tokens;
+  }
+
+  // Short words over a small alphabet, so trigrams collide often
+  private static String word(Random random) {
+    StringBuilder word = new StringBuilder();
+    int length = 3 + random.nextInt(4);
+    for (int i = 0; i < length; i++) {
+      word.append("abcde".charAt(random.nextInt(5)));
+    }
+    return word.toString();
+  }
+
+  private static List<UUID> ids(List<PatientSearchResultDTO> results) {
+    return results.stream().map(r -> UUID.fromString(r.getId())).toList();
+  }
+}